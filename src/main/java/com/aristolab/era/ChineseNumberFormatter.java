@@ -1,5 +1,6 @@
 package com.aristolab.era;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -30,31 +31,70 @@ final class ChineseNumberFormatter {
             Map.entry('卅', 30)
     );
 
+    private static final char[] DIGIT_CHARS = {'〇', '一', '二', '三', '四', '五', '六', '七', '八', '九'};
+
     private ChineseNumberFormatter() {
     }
 
+    /**
+     * Returned by {@link #tryParse} for text that is not a supported numeral.
+     */
+    static final int INVALID = -1;
+
     static int parse(String text) {
+        int value = tryParse(text);
+        if (value != INVALID) {
+            return value;
+        }
         if (text == null || text.isBlank()) {
             throw new IllegalArgumentException("Chinese numeral is empty");
         }
         String trimmed = text.strip();
+        for (int i = 0; i < trimmed.length(); i++) {
+            char ch = trimmed.charAt(i);
+            if (!DIGITS.containsKey(ch) && !Character.isDigit(ch)) {
+                throw new IllegalArgumentException("Unsupported Chinese numeral: " + ch + " in " + text);
+            }
+        }
+        throw new IllegalArgumentException("Chinese numeral out of range: " + text);
+    }
+
+    /**
+     * Like {@link #parse} but returns {@link #INVALID} instead of throwing, so that callers scanning untrusted
+     * input do not pay for exceptions.
+     */
+    static int tryParse(String text) {
+        if (text == null || text.isBlank()) {
+            return INVALID;
+        }
+        String trimmed = text.strip();
         if (trimmed.equals("元")) {
             return 1;
         }
         if (trimmed.chars().allMatch(Character::isDigit)) {
-            return Integer.parseInt(trimmed);
+            long value = 0;
+            for (int i = 0; i < trimmed.length(); i++) {
+                value = value * 10 + Character.digit(trimmed.charAt(i), 10);
+                if (value > Integer.MAX_VALUE) {
+                    return INVALID;
+                }
+            }
+            return (int) value;
         }
-        int result = 0;
-        int current = 0;
+        long result = 0;
+        long current = 0;
         for (int i = 0; i < trimmed.length(); i++) {
             char ch = trimmed.charAt(i);
             Integer value = DIGITS.get(ch);
             if (value == null) {
                 if (Character.isDigit(ch)) {
                     current = current * 10 + Character.getNumericValue(ch);
+                    if (current > Integer.MAX_VALUE) {
+                        return INVALID;
+                    }
                     continue;
                 }
-                throw new IllegalArgumentException("Unsupported Chinese numeral: " + ch + " in " + text);
+                return INVALID;
             }
             if (value >= 10) {
                 int unit = value;
@@ -72,70 +112,74 @@ final class ChineseNumberFormatter {
             } else {
                 current = current * 10 + value;
             }
+            if (result > Integer.MAX_VALUE || current > Integer.MAX_VALUE) {
+                return INVALID;
+            }
         }
-        return result + current;
+        long total = result + current;
+        return total > Integer.MAX_VALUE ? INVALID : (int) total;
     }
 
     static String format(int number) {
+        StringBuilder builder = new StringBuilder(8);
+        try {
+            appendTo(builder, number);
+        } catch (IOException ex) {
+            throw new IllegalStateException("StringBuilder does not throw", ex);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the numeral for {@code number} straight into {@code out} without building intermediate strings.
+     */
+    static void appendTo(Appendable out, int number) throws IOException {
         if (number <= 0) {
             throw new IllegalArgumentException("number must be positive: " + number);
         }
         if (number < 10) {
-            return switch (number) {
-                case 1 -> "一";
-                case 2 -> "二";
-                case 3 -> "三";
-                case 4 -> "四";
-                case 5 -> "五";
-                case 6 -> "六";
-                case 7 -> "七";
-                case 8 -> "八";
-                case 9 -> "九";
-                default -> throw new IllegalStateException();
-            };
+            out.append(DIGIT_CHARS[number]);
+            return;
         }
         if (number < 20) {
-            if (number == 10) {
-                return "十";
+            out.append('十');
+            if (number > 10) {
+                out.append(DIGIT_CHARS[number - 10]);
             }
-            return "十" + format(number - 10);
+            return;
         }
         if (number < 100) {
-            int tens = number / 10;
-            int remainder = number % 10;
-            String prefix = (tens == 1 ? "十" : format(tens) + "十");
-            return remainder == 0 ? prefix : prefix + format(remainder);
+            out.append(DIGIT_CHARS[number / 10]).append('十');
+            if (number % 10 != 0) {
+                out.append(DIGIT_CHARS[number % 10]);
+            }
+            return;
         }
         if (number < 1000) {
-            int hundreds = number / 100;
             int remainder = number % 100;
-            String prefix = format(hundreds) + "百";
+            out.append(DIGIT_CHARS[number / 100]).append('百');
             if (remainder == 0) {
-                return prefix;
+                return;
             }
             if (remainder < 10) {
-                return prefix + "零" + format(remainder);
+                out.append('零');
+            } else if (remainder < 20) {
+                out.append('一');
             }
-            String remainderText = format(remainder);
-            if (remainder >= 10 && remainder < 20) {
-                remainderText = "一" + remainderText;
-            }
-            return prefix + remainderText;
+            appendTo(out, remainder);
+            return;
         }
         if (number < 10000) {
-            int thousands = number / 1000;
             int remainder = number % 1000;
-            String prefix = format(thousands) + "千";
+            out.append(DIGIT_CHARS[number / 1000]).append('千');
             if (remainder == 0) {
-                return prefix;
+                return;
             }
             if (remainder < 100) {
-                if (remainder < 10) {
-                    return prefix + "零" + format(remainder);
-                }
-                return prefix + "零" + format(remainder);
+                out.append('零');
             }
-            return prefix + format(remainder);
+            appendTo(out, remainder);
+            return;
         }
         throw new IllegalArgumentException("number too large to format: " + number);
     }
@@ -0,0 +1,299 @@
+package com.aristolab.era;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the era mentions of a live document up to date as it is edited.
+ * <p>
+ * A mention is an era alias optionally followed by a year, month and day expression, e.g.
+ * {@code 永樂五年二月初十日}. Every mention is at most {@link #maxMentionLength()} characters long, so an edit
+ * can only change mentions starting within that distance before it. {@link #edit} rescans from there and
+ * stops at the first position past the edit where the new scan is in the same state as the previous one,
+ * after which all previous mentions are reused as they are.
+ * <p>
+ * The text is held in a gap buffer and the mentions after the edit point are stored relative to the end of
+ * the document, so neither needs shifting when text is inserted or removed; the work per edit depends on
+ * the distance to the previous edit and on the rescanned window, not on the document length. The result
+ * always equals a full scan of the current text.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class EraAnnotator {
+
+    private static final String YEAR_DIGITS = "元〇○零一二三四五六七八九十百千兩两廿卅0-9";
+    private static final String DAY_DIGITS = "初〇○零一二三四五六七八九十百千兩两廿卅0-9";
+    // Bounded numeral runs keep the longest possible mention, and with it the rescan window, finite.
+    private static final int YEAR_SUFFIX = 6 + 1;
+    private static final int MONTH_SUFFIX = 1 + 3 + 1;
+    private static final int DAY_SUFFIX = 3 + 1;
+
+    private final EraMentionMatcher matcher;
+    private final int window;
+    private final GapBuffer text;
+    /** Mentions before the gap, in document order, with absolute offsets. */
+    private final List<Tail> head = new ArrayList<>();
+    /** Mentions after the gap, farthest first, with offsets counted from the end of the document. */
+    private final List<Tail> tail = new ArrayList<>();
+    private int lastScanned;
+
+    private EraAnnotator(EraRegistry registry, CharSequence initial) {
+        EraIndex index = registry.index();
+        this.matcher = index.mentionMatcher();
+        this.window = maxMentionLength(index);
+        this.text = new GapBuffer(initial);
+        if (matcher != null) {
+            EraMentionMatcher.Cursor cursor = matcher.cursor(text);
+            int position = 0;
+            while (cursor.find(position, text.length())) {
+                head.add(new Tail(cursor.start(), cursor.end() - cursor.start(), cursor.group()));
+                position = cursor.end();
+            }
+        }
+        this.lastScanned = text.length();
+    }
+
+    public static EraAnnotator of(EraRegistry registry, CharSequence text) {
+        Objects.requireNonNull(registry, "registry");
+        Objects.requireNonNull(text, "text");
+        return new EraAnnotator(registry, text);
+    }
+
+    static int maxMentionLength(EraIndex index) {
+        return index.maxAliasLength() + YEAR_SUFFIX + MONTH_SUFFIX + DAY_SUFFIX;
+    }
+
+    /**
+     * Date expression that may follow an alias; every part is optional.
+     */
+    static String mentionSuffix() {
+        return "(?:[" + YEAR_DIGITS + "]{1," + (YEAR_SUFFIX - 1) + "}年)?"
+                + "(?:[閏闰]?[" + YEAR_DIGITS + "]{1," + (MONTH_SUFFIX - 2) + "}月)?"
+                + "(?:[" + DAY_DIGITS + "]{1," + (DAY_SUFFIX - 1) + "}[日号])?";
+    }
+
+    /**
+     * Upper bound of the length of a single mention.
+     */
+    public int maxMentionLength() {
+        return window;
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    public String text() {
+        return text.toString();
+    }
+
+    /**
+     * All mentions in document order.
+     */
+    public List<Mention> mentions() {
+        List<Mention> result = new ArrayList<>(head.size() + tail.size());
+        for (Tail mention : head) {
+            result.add(new Mention(mention.position(), mention.length(), mention.text()));
+        }
+        int length = text.length();
+        for (int i = tail.size() - 1; i >= 0; i--) {
+            Tail mention = tail.get(i);
+            result.add(new Mention(length - mention.position(), mention.length(), mention.text()));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Replaces {@code removed} characters at {@code offset} with {@code inserted} and updates the mentions.
+     */
+    public Change edit(int offset, int removed, CharSequence inserted) {
+        Objects.requireNonNull(inserted, "inserted");
+        int oldLength = text.length();
+        if (offset < 0 || removed < 0 || offset > oldLength || removed > oldLength - offset) {
+            throw new IllegalArgumentException("Edit out of range: offset=" + offset + ", removed=" + removed
+                    + ", length=" + oldLength);
+        }
+        int low = Math.max(0, offset - window);
+        moveGap(low, oldLength);
+        text.replace(offset, removed, inserted);
+        int length = text.length();
+        int editEnd = offset + inserted.length();
+        int delta = inserted.length() - removed;
+
+        List<Mention> removedMentions = new ArrayList<>();
+        List<Mention> addedMentions = new ArrayList<>();
+        int position = head.isEmpty() ? low : Math.max(low, head.getLast().end());
+        int scanFrom = position;
+        EraMentionMatcher.Cursor cursor = matcher == null ? null : matcher.cursor(text);
+        while (position < length) {
+            if (position >= editEnd && dropTailBefore(position, length, delta, removedMentions)) {
+                break;
+            }
+            int limit = Math.min(length, Math.max(position, editEnd) + 2 * window);
+            if (cursor != null && cursor.find(position, limit)
+                    && (cursor.start() <= limit - window || limit == length)) {
+                Tail added = new Tail(cursor.start(), cursor.end() - cursor.start(), cursor.group());
+                head.add(added);
+                addedMentions.add(new Mention(added.position(), added.length(), added.text()));
+                position = cursor.end();
+            } else {
+                // No mention can start in [position, limit - window]; a later one would have been found whole.
+                position = limit == length ? length : limit - window + 1;
+            }
+        }
+        if (position >= length) {
+            dropTailBefore(Integer.MAX_VALUE, length, delta, removedMentions);
+        }
+        lastScanned = Math.min(position, length) - scanFrom;
+        return new Change(Collections.unmodifiableList(removedMentions), Collections.unmodifiableList(addedMentions));
+    }
+
+    /**
+     * Characters examined by the last {@link #edit}, exposed for tests.
+     */
+    int lastScanned() {
+        return lastScanned;
+    }
+
+    /**
+     * Drops previous mentions starting before {@code position} and reports whether the previous scan was in the
+     * same state there, i.e. {@code position} does not fall strictly inside a previous mention.
+     */
+    private boolean dropTailBefore(int position, int length, int delta, List<Mention> removedMentions) {
+        boolean synced = true;
+        while (!tail.isEmpty()) {
+            Tail mention = tail.getLast();
+            int start = length - mention.position();
+            if (start >= position) {
+                break;
+            }
+            tail.removeLast();
+            removedMentions.add(new Mention(start - delta, mention.length(), mention.text()));
+            synced = start + mention.length() <= position;
+        }
+        return synced;
+    }
+
+    /**
+     * Moves the boundary between {@link #head} and {@link #tail} so that {@code head} holds exactly the mentions
+     * starting before {@code offset}.
+     */
+    private void moveGap(int offset, int length) {
+        while (!head.isEmpty() && head.getLast().position() >= offset) {
+            Tail mention = head.removeLast();
+            tail.add(new Tail(length - mention.position(), mention.length(), mention.text()));
+        }
+        while (!tail.isEmpty() && length - tail.getLast().position() < offset) {
+            Tail mention = tail.removeLast();
+            head.add(new Tail(length - mention.position(), mention.length(), mention.text()));
+        }
+    }
+
+    /**
+     * An era mention with its offset in the document.
+     */
+    public record Mention(int start, int length, String text) {
+
+        public int end() {
+            return start + length;
+        }
+    }
+
+    /**
+     * Mentions removed (offsets before the edit) and added (offsets after the edit) by one {@link #edit}.
+     * Mentions that were only rescanned may appear in both.
+     */
+    public record Change(List<Mention> removed, List<Mention> added) {
+    }
+
+    /**
+     * Stored mention; {@code position} is absolute in {@link #head} and counted from the end in {@link #tail}.
+     */
+    private record Tail(int position, int length, String text) {
+
+        int end() {
+            return position + length;
+        }
+    }
+
+    /**
+     * Character gap buffer, so that consecutive edits near one place copy only the characters in between.
+     */
+    private static final class GapBuffer implements CharSequence {
+
+        private char[] chars;
+        private int gapStart;
+        private int gapEnd;
+
+        GapBuffer(CharSequence initial) {
+            int length = initial.length();
+            this.chars = new char[Math.max(16, length + length / 2)];
+            for (int i = 0; i < length; i++) {
+                chars[i] = initial.charAt(i);
+            }
+            this.gapStart = length;
+            this.gapEnd = chars.length;
+        }
+
+        void replace(int offset, int removed, CharSequence inserted) {
+            moveTo(offset);
+            gapEnd += removed;
+            int needed = inserted.length();
+            if (gapEnd - gapStart < needed) {
+                grow(needed);
+            }
+            for (int i = 0; i < needed; i++) {
+                chars[gapStart++] = inserted.charAt(i);
+            }
+        }
+
+        private void moveTo(int offset) {
+            if (offset < gapStart) {
+                int count = gapStart - offset;
+                System.arraycopy(chars, offset, chars, gapEnd - count, count);
+                gapStart -= count;
+                gapEnd -= count;
+            } else if (offset > gapStart) {
+                int count = offset - gapStart;
+                System.arraycopy(chars, gapEnd, chars, gapStart, count);
+                gapStart += count;
+                gapEnd += count;
+            }
+        }
+
+        private void grow(int needed) {
+            int after = chars.length - gapEnd;
+            char[] larger = new char[Math.max(chars.length * 2, length() + needed + 16)];
+            System.arraycopy(chars, 0, larger, 0, gapStart);
+            System.arraycopy(chars, gapEnd, larger, larger.length - after, after);
+            gapEnd = larger.length - after;
+            chars = larger;
+        }
+
+        @Override
+        public int length() {
+            return chars.length - (gapEnd - gapStart);
+        }
+
+        @Override
+        public char charAt(int index) {
+            return index < gapStart ? chars[index] : chars[index + gapEnd - gapStart];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            StringBuilder builder = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                builder.append(charAt(i));
+            }
+            return builder;
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
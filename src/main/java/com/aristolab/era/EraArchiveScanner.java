@@ -0,0 +1,278 @@
+package com.aristolab.era;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Scans every file under a directory for era mentions and writes one NDJSON line per file.
+ * <p>
+ * Files are scanned in parallel on a work-stealing pool, all sharing the registry's immutable mention matcher
+ * (see {@link EraAnnotator}). Files are read in fixed-size chunks; because a mention is never longer than the
+ * longest alias plus a full year, month and day suffix, only mentions that could run past the end of a chunk
+ * are deferred and rescanned together with the next one, so files of any size use a bounded buffer. At most
+ * {@code maxInFlight} files are open or waiting to be written at any time.
+ * <p>
+ * Output lines look like {@code {"path":"a/b.txt","chars":1234,"mentions":[[10,"永樂五年"]]}}, where
+ * {@code path} is relative to the scanned root and offsets count UTF-16 code units. Files that cannot be read
+ * produce {@code {"path":"…","error":"…"}}. Lines are written in completion order.
+ */
+public final class EraArchiveScanner {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final EraMentionMatcher matcher;
+    private final int window;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final Charset charset;
+    private final Predicate<Path> filter;
+
+    private EraArchiveScanner(Builder builder) {
+        EraIndex index = builder.registry.index();
+        this.matcher = index.mentionMatcher();
+        this.window = EraAnnotator.maxMentionLength(index);
+        this.parallelism = builder.parallelism;
+        this.chunkSize = Math.max(builder.chunkSize, 2 * window);
+        this.maxInFlight = builder.maxInFlight;
+        this.charset = builder.charset;
+        this.filter = builder.filter;
+    }
+
+    public static Builder builder(EraRegistry registry) {
+        return new Builder(Objects.requireNonNull(registry, "registry"));
+    }
+
+    /**
+     * Scans all regular files below {@code root} accepted by the filter and writes the results to {@code out},
+     * which is flushed but not closed.
+     */
+    public Report scan(Path root, OutputStream out) throws IOException {
+        Objects.requireNonNull(root, "root");
+        Objects.requireNonNull(out, "out");
+        long started = System.nanoTime();
+        LongAdder files = new LongAdder();
+        LongAdder failures = new LongAdder();
+        LongAdder characters = new LongAdder();
+        LongAdder mentions = new LongAdder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        JsonGenerator generator = JSON.createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        AtomicReference<IOException> writeFailure = new AtomicReference<>();
+        try (Stream<Path> paths = Files.walk(root)) {
+            Iterator<Path> iterator = paths.filter(Files::isRegularFile).filter(filter).iterator();
+            while (iterator.hasNext() && writeFailure.get() == null) {
+                Path file = iterator.next();
+                inFlight.acquireUninterruptibly();
+                pool.execute(() -> {
+                    try {
+                        FileResult result = scanFile(file);
+                        files.increment();
+                        if (result.error() != null) {
+                            failures.increment();
+                        } else {
+                            characters.add(result.characters());
+                            mentions.add(result.hits().size());
+                        }
+                        synchronized (generator) {
+                            write(generator, root.relativize(file), result);
+                        }
+                    } catch (IOException ex) {
+                        writeFailure.compareAndSet(null, ex);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            // Tasks may still be writing to out: wait for all of them before returning or rethrowing.
+            inFlight.acquireUninterruptibly(maxInFlight);
+            pool.shutdown();
+        }
+        if (writeFailure.get() != null) {
+            throw writeFailure.get();
+        }
+        generator.flush();
+        return new Report(files.sum(), failures.sum(), characters.sum(), mentions.sum(),
+                Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    /**
+     * Mentions in {@code reader}, read chunk by chunk.
+     */
+    List<Hit> scan(Reader reader) throws IOException {
+        List<Hit> result = new ArrayList<>();
+        scan(reader, result);
+        return result;
+    }
+
+    private long scan(Reader reader, List<Hit> result) throws IOException {
+        StringBuilder buffer = new StringBuilder(chunkSize + window);
+        char[] chunk = new char[chunkSize];
+        EraMentionMatcher.Cursor cursor = matcher == null ? null : matcher.cursor(buffer);
+        long base = 0;
+        boolean end = false;
+        while (!end) {
+            int read = reader.read(chunk);
+            end = read < 0;
+            if (!end) {
+                buffer.append(chunk, 0, read);
+                if (buffer.length() < chunkSize) {
+                    continue;
+                }
+            }
+            // Before the end of input, only accept mentions that cannot extend past the buffer; the rest of the
+            // buffer is carried over and rescanned with the next chunk.
+            int safeEnd = end ? buffer.length() : buffer.length() - window;
+            int position = 0;
+            if (cursor != null) {
+                while (cursor.find(position, buffer.length()) && (end || cursor.start() < safeEnd)) {
+                    result.add(new Hit(base + cursor.start(), cursor.group()));
+                    position = cursor.end();
+                }
+            }
+            int keep = end ? buffer.length() : Math.max(position, safeEnd);
+            buffer.delete(0, keep);
+            base += keep;
+        }
+        return base;
+    }
+
+    private FileResult scanFile(Path file) {
+        List<Hit> hits = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(file, charset)) {
+            long characters = scan(reader, hits);
+            return new FileResult(characters, hits, null);
+        } catch (IOException | RuntimeException ex) {
+            return new FileResult(0, List.of(), ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        }
+    }
+
+    private static void write(JsonGenerator generator, Path path, FileResult result) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("path", path.toString().replace('\\', '/'));
+        if (result.error() != null) {
+            generator.writeStringField("error", result.error());
+        } else {
+            generator.writeNumberField("chars", result.characters());
+            generator.writeArrayFieldStart("mentions");
+            for (Hit hit : result.hits()) {
+                generator.writeStartArray();
+                generator.writeNumber(hit.start());
+                generator.writeString(hit.text());
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * A mention found by the scanner; {@code start} is a character offset in the file.
+     */
+    record Hit(long start, String text) {
+    }
+
+    private record FileResult(long characters, List<Hit> hits, String error) {
+    }
+
+    /**
+     * Totals of one {@link #scan(Path, OutputStream)} run.
+     */
+    public record Report(long files, long failures, long characters, long mentions, Duration elapsed) {
+
+        public double filesPerSecond() {
+            return perSecond(files);
+        }
+
+        public double charactersPerSecond() {
+            return perSecond(characters);
+        }
+
+        private double perSecond(long count) {
+            long nanos = Math.max(1, elapsed.toNanos());
+            return count * 1e9 / nanos;
+        }
+    }
+
+    public static final class Builder {
+
+        private final EraRegistry registry;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int chunkSize = 1 << 16;
+        private int maxInFlight = 4 * Runtime.getRuntime().availableProcessors();
+        private Charset charset = StandardCharsets.UTF_8;
+        private Predicate<Path> filter = path -> true;
+
+        private Builder(EraRegistry registry) {
+            this.registry = registry;
+        }
+
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism must be positive");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Characters read per chunk; raised to twice the longest mention if smaller.
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize must be positive");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public Builder maxInFlight(int maxInFlight) {
+            if (maxInFlight <= 0) {
+                throw new IllegalArgumentException("maxInFlight must be positive");
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder charset(Charset charset) {
+            this.charset = Objects.requireNonNull(charset, "charset");
+            return this;
+        }
+
+        public Builder filter(Predicate<Path> filter) {
+            this.filter = Objects.requireNonNull(filter, "filter");
+            return this;
+        }
+
+        public EraArchiveScanner build() {
+            return new EraArchiveScanner(this);
+        }
+    }
+}
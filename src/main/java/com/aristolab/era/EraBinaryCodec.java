@@ -0,0 +1,172 @@
+package com.aristolab.era;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary encoding of {@link EraDate} values that references definitions by their position in a
+ * registry instead of embedding them.
+ * <p>
+ * Record layout: format byte, registry version (4 bytes, big endian), definition id (varint), era year
+ * (varint), a flags byte holding the month (bits 0-3, {@code 0} when absent), the leap-month flag (bit 4)
+ * and a day-present flag (bit 5), then the day (varint) when present. A typical date takes 9 to 10 bytes.
+ * <p>
+ * The registry version is a CRC-32C over the identifying fields of every definition in order, so records
+ * can only be decoded against a registry with exactly the same content.
+ */
+public final class EraBinaryCodec {
+
+    /**
+     * Upper bound of the encoded size of one record.
+     */
+    public static final int MAX_RECORD_SIZE = 1 + 4 + 5 + 5 + 1 + 5;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int LEAP_FLAG = 0x10;
+    private static final int DAY_FLAG = 0x20;
+
+    private final EraRegistry registry;
+    private final List<EraDefinition> definitions;
+    private final int registryVersion;
+
+    private EraBinaryCodec(EraRegistry registry) {
+        this.registry = registry;
+        this.definitions = registry.definitions();
+        this.registryVersion = contentHash(definitions);
+    }
+
+    public static EraBinaryCodec forRegistry(EraRegistry registry) {
+        return new EraBinaryCodec(Objects.requireNonNull(registry, "registry"));
+    }
+
+    public int registryVersion() {
+        return registryVersion;
+    }
+
+    public void encode(EraDate date, ByteBuffer out) {
+        Objects.requireNonNull(date, "date");
+        int id = registry.index().idOf(date.definition());
+        if (id < 0) {
+            throw new IllegalArgumentException("Definition is not part of the codec registry: " + date.definition());
+        }
+        int flags = date.month().orElse(0);
+        if (flags > 15) {
+            throw new IllegalArgumentException("Month out of range: " + flags);
+        }
+        if (date.isLeapMonth()) {
+            flags |= LEAP_FLAG;
+        }
+        Integer day = date.day().orElse(null);
+        if (day != null) {
+            flags |= DAY_FLAG;
+        }
+        out.put(FORMAT_VERSION);
+        out.putInt(registryVersion);
+        writeVarint(out, id);
+        writeVarint(out, date.year());
+        out.put((byte) flags);
+        if (day != null) {
+            writeVarint(out, day);
+        }
+    }
+
+    public byte[] encode(EraDate date) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_RECORD_SIZE);
+        encode(date, buffer);
+        byte[] result = new byte[buffer.position()];
+        buffer.flip().get(result);
+        return result;
+    }
+
+    public EraDate decode(ByteBuffer in) {
+        byte format = in.get();
+        if (format != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported era date format: " + format);
+        }
+        int version = in.getInt();
+        if (version != registryVersion) {
+            throw new IllegalArgumentException("Era date was encoded against registry version "
+                    + Integer.toHexString(version) + ", expected " + Integer.toHexString(registryVersion));
+        }
+        int id = readVarint(in);
+        if (id < 0 || id >= definitions.size()) {
+            throw new IllegalArgumentException("Unknown definition id: " + id);
+        }
+        int year = readVarint(in);
+        int flags = in.get() & 0xFF;
+        int month = flags & 0x0F;
+        Integer day = (flags & DAY_FLAG) != 0 ? readVarint(in) : null;
+        return new EraDate(definitions.get(id), year, month == 0 ? null : month, (flags & LEAP_FLAG) != 0, day);
+    }
+
+    public EraDate decode(byte[] data) {
+        return decode(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Jackson module writing {@link EraDate} values as compact binary (base64 in textual formats).
+     */
+    public SimpleModule jacksonModule() {
+        SimpleModule module = new SimpleModule("EraBinaryCodec");
+        module.addSerializer(EraDate.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(EraDate value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+                gen.writeBinary(encode(value));
+            }
+        });
+        module.addDeserializer(EraDate.class, new JsonDeserializer<>() {
+            @Override
+            public EraDate deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+                try {
+                    return decode(parser.getBinaryValue());
+                } catch (IllegalArgumentException | BufferUnderflowException ex) {
+                    throw ctxt.weirdStringException(parser.getText(), EraDate.class, ex.getMessage());
+                }
+            }
+        });
+        return module;
+    }
+
+    private static void writeVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static int contentHash(List<EraDefinition> definitions) {
+        CRC32C crc = new CRC32C();
+        for (EraDefinition definition : definitions) {
+            String key = definition.dynasty() + '\u0000' + definition.emperor() + '\u0000' + definition.eraName()
+                    + '\u0000' + definition.startDate() + '\u0000' + definition.endDate() + '\u0001';
+            crc.update(key.getBytes(StandardCharsets.UTF_8));
+        }
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,144 @@
+package com.aristolab.era;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-attribute bitsets over the distinct definitions of a registry, bit {@code i} standing for the
+ * {@code i}-th definition in start order.
+ * <p>
+ * Equality attributes (dynasty, emperor, the notes flag) are exact. Date ranges use one bitset per century of
+ * eras overlapping it, and alias text one bitset per character occurring in an era's names; both only narrow
+ * the candidates, which {@link EraQuery} then checks exactly. For the bundled catalogue a bitset is 16 words.
+ */
+final class EraBitmapIndex {
+
+    static final int BUCKET_YEARS = 100;
+
+    private final List<EraDefinition> definitions;
+    private final int words;
+    private final long[] all;
+    private final long[] withNotes;
+    private final Map<String, long[]> byDynasty = new HashMap<>();
+    private final Map<String, long[]> byEmperor = new HashMap<>();
+    private final Map<Integer, long[]> byCharacter = new HashMap<>();
+    private final int firstBucket;
+    private final long[][] byBucket;
+    private final long[] startDays;
+    private final long[] endDays;
+    private final String[] names;
+
+    EraBitmapIndex(List<EraDefinition> definitions) {
+        this.definitions = definitions;
+        int size = definitions.size();
+        this.words = (size + Long.SIZE - 1) / Long.SIZE;
+        this.all = new long[words];
+        this.withNotes = new long[words];
+        this.startDays = new long[size];
+        this.endDays = new long[size];
+        this.names = new String[size];
+        int minBucket = Integer.MAX_VALUE;
+        int maxBucket = Integer.MIN_VALUE;
+        for (EraDefinition definition : definitions) {
+            minBucket = Math.min(minBucket, bucketOf(definition.startDate().getYear()));
+            maxBucket = Math.max(maxBucket, bucketOf(definition.endDate().getYear()));
+        }
+        this.firstBucket = size == 0 ? 0 : minBucket;
+        this.byBucket = new long[size == 0 ? 0 : maxBucket - minBucket + 1][words];
+        for (int i = 0; i < size; i++) {
+            EraDefinition definition = definitions.get(i);
+            set(all, i);
+            if (!definition.notes().isEmpty()) {
+                set(withNotes, i);
+            }
+            set(byDynasty.computeIfAbsent(definition.dynasty(), key -> new long[words]), i);
+            set(byEmperor.computeIfAbsent(definition.emperor(), key -> new long[words]), i);
+            int fromBucket = bucketOf(definition.startDate().getYear());
+            int toBucket = bucketOf(definition.endDate().getYear());
+            for (int bucket = fromBucket; bucket <= toBucket; bucket++) {
+                set(byBucket[bucket - firstBucket], i);
+            }
+            startDays[i] = definition.startDate().toEpochDay();
+            endDays[i] = definition.endDate().toEpochDay();
+            StringBuilder text = new StringBuilder(definition.displayName().toLowerCase(Locale.ROOT));
+            for (String alias : definition.aliases()) {
+                text.append('\n').append(alias.toLowerCase(Locale.ROOT));
+            }
+            names[i] = text.toString();
+            int index = i;
+            names[i].codePoints()
+                    .filter(codePoint -> codePoint != '\n')
+                    .forEach(codePoint -> set(byCharacter.computeIfAbsent(codePoint, key -> new long[words]), index));
+        }
+    }
+
+    static int bucketOf(int year) {
+        return Math.floorDiv(year, BUCKET_YEARS);
+    }
+
+    static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    int words() {
+        return words;
+    }
+
+    List<EraDefinition> definitions() {
+        return definitions;
+    }
+
+    long[] all() {
+        return all;
+    }
+
+    long[] withNotes() {
+        return withNotes;
+    }
+
+    /**
+     * Bitset for a dynasty or emperor, or {@code null} when nothing matches.
+     */
+    long[] dynasty(String dynasty) {
+        return byDynasty.get(dynasty);
+    }
+
+    long[] emperor(String emperor) {
+        return byEmperor.get(emperor);
+    }
+
+    long[] character(int codePoint) {
+        return byCharacter.get(codePoint);
+    }
+
+    /**
+     * ORs into {@code target} the eras overlapping any century from {@code fromYear} to {@code toYear}.
+     */
+    void orBuckets(int fromYear, int toYear, long[] target) {
+        int from = Math.max(bucketOf(fromYear) - firstBucket, 0);
+        int to = Math.min(bucketOf(toYear) - firstBucket, byBucket.length - 1);
+        for (int bucket = from; bucket <= to; bucket++) {
+            long[] bits = byBucket[bucket];
+            for (int word = 0; word < words; word++) {
+                target[word] |= bits[word];
+            }
+        }
+    }
+
+    long startDay(int index) {
+        return startDays[index];
+    }
+
+    long endDay(int index) {
+        return endDays[index];
+    }
+
+    /**
+     * Lower-cased display name and aliases, separated by newlines.
+     */
+    String names(int index) {
+        return names[index];
+    }
+}
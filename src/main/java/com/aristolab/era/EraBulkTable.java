@@ -0,0 +1,156 @@
+package com.aristolab.era;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primitive-array form of the date-to-era lookup for the bulk conversions of {@link EraConverter}.
+ * <p>
+ * Segment boundaries are shared with {@link EraIntervalIndex}; each segment stores the id of its
+ * earliest-starting era (or {@code -1}), and each id its first Gregorian year and its span in epoch days.
+ * Consecutive inputs falling into the same segment or year skip the binary search and the calendar
+ * arithmetic, which is the common case for sorted or clustered data.
+ */
+final class EraBulkTable {
+
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final long DAYS_PER_CYCLE = 146_097L;
+
+    private final long[] boundaries;
+    private final int[] firstIds;
+    private final int[] startYears;
+    private final long[] startDays;
+    private final long[] endDays;
+
+    EraBulkTable(long[] boundaries, List<EraDefinition>[] active, List<EraDefinition> definitions,
+                 Map<EraDefinition, Integer> ids) {
+        this.boundaries = boundaries;
+        this.firstIds = new int[active.length];
+        for (int segment = 0; segment < active.length; segment++) {
+            firstIds[segment] = active[segment].isEmpty() ? -1 : ids.get(active[segment].getFirst());
+        }
+        this.startYears = new int[definitions.size()];
+        this.startDays = new long[definitions.size()];
+        this.endDays = new long[definitions.size()];
+        for (int id = 0; id < startYears.length; id++) {
+            EraDefinition definition = definitions.get(id);
+            startYears[id] = definition.startDate().getYear();
+            startDays[id] = definition.startDate().toEpochDay();
+            endDays[id] = definition.endDate().toEpochDay();
+        }
+    }
+
+    void eraIds(long[] epochDays, int[] eraIds, int length) {
+        long low = Long.MAX_VALUE;
+        long high = Long.MIN_VALUE;
+        int id = -1;
+        for (int i = 0; i < length; i++) {
+            long day = epochDays[i];
+            if (day < low || day > high) {
+                int segment = Arrays.binarySearch(boundaries, day);
+                segment = segment >= 0 ? segment : -segment - 2;
+                if (segment < 0) {
+                    low = Long.MIN_VALUE;
+                    high = boundaries.length == 0 ? Long.MAX_VALUE : boundaries[0] - 1;
+                    id = -1;
+                } else if (segment >= firstIds.length) {
+                    low = boundaries[segment];
+                    high = Long.MAX_VALUE;
+                    id = -1;
+                } else {
+                    low = boundaries[segment];
+                    high = boundaries[segment + 1] - 1;
+                    id = firstIds[segment];
+                }
+            }
+            eraIds[i] = id;
+        }
+    }
+
+    /**
+     * {@link #eraIds(long[], int[], int)} through the dense day table: no search, whatever the input order.
+     */
+    void eraIds(long[] epochDays, int[] eraIds, int length, EraDayTable days) {
+        for (int i = 0; i < length; i++) {
+            int segment = days.segmentAt(epochDays[i]);
+            eraIds[i] = segment < 0 ? -1 : firstIds[segment];
+        }
+    }
+
+    void eraYears(long[] epochDays, int[] eraIds, int[] eraYears, int length) {
+        long yearStart = Long.MAX_VALUE;
+        long yearEnd = Long.MIN_VALUE;
+        int year = 0;
+        for (int i = 0; i < length; i++) {
+            long day = epochDays[i];
+            int id = eraIds[i];
+            if (id < 0) {
+                eraYears[i] = 0;
+                continue;
+            }
+            checkId(id);
+            if (day < startDays[id] || day > endDays[id]) {
+                throw new IllegalArgumentException("Epoch day " + day + " is outside of era " + id);
+            }
+            if (day < yearStart || day > yearEnd) {
+                year = gregorianYear(day);
+                yearStart = firstDayOf(year);
+                yearEnd = firstDayOf(year + 1) - 1;
+            }
+            eraYears[i] = year - startYears[id] + 1;
+        }
+    }
+
+    void gregorianYears(int[] eraIds, int[] eraYears, int[] gregorianYears, int length) {
+        for (int i = 0; i < length; i++) {
+            int id = eraIds[i];
+            gregorianYears[i] = id < 0 ? 0 : startYears[checkId(id)] + eraYears[i] - 1;
+        }
+    }
+
+    void contains(int eraId, long[] epochDays, boolean[] result, int length) {
+        checkId(eraId);
+        long start = startDays[eraId];
+        long end = endDays[eraId];
+        for (int i = 0; i < length; i++) {
+            result[i] = epochDays[i] >= start && epochDays[i] <= end;
+        }
+    }
+
+    private int checkId(int id) {
+        if (id < 0 || id >= startYears.length) {
+            throw new IllegalArgumentException("Unknown era id: " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Proleptic Gregorian year of {@code epochDay}; the year part of {@link java.time.LocalDate#ofEpochDay}.
+     */
+    static int gregorianYear(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay -= adjustCycles * DAYS_PER_CYCLE;
+        }
+        long year = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+        if (dayOfYear < 0) {
+            year--;
+            dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+        }
+        // The computation counts years from March; January and February belong to the next one.
+        return (int) (year + adjust + ((int) dayOfYear * 5 + 2) / 153 / 10);
+    }
+
+    /**
+     * Epoch day of January 1st of the proleptic Gregorian {@code year}.
+     */
+    static long firstDayOf(int year) {
+        long y = (long) year - 1;
+        return 365 * y + Math.floorDiv(y, 4) - Math.floorDiv(y, 100) + Math.floorDiv(y, 400) - 719_162L;
+    }
+}
@@ -0,0 +1,215 @@
+package com.aristolab.era;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Function;
+
+/**
+ * {@link Flow.Processor} converting upstream items into {@link EraConversionResult}s.
+ * <p>
+ * Items are grouped into micro-batches and converted on the supplied executor with at most
+ * {@code parallelism} batches in flight. A batch is dispatched as soon as a slot is free, so batches stay
+ * small under light load and fill up to {@code batchSize} while the processor is saturated. Results are
+ * emitted in upstream order and upstream demand is bounded by {@code batchSize * parallelism} items.
+ * Conversion failures are emitted as failed results and never terminate the stream.
+ * <p>
+ * Results are handed on with {@link #submit}, which blocks the executor thread finishing a batch while a
+ * subscriber's buffer is full; that is how a slow consumer holds back upstream demand, so the executor should
+ * not be shared with latency-sensitive work. Once every subscriber has cancelled, the upstream subscription is
+ * cancelled at the next batch and pending items are dropped.
+ *
+ * @param <T> type of the upstream items
+ */
+public final class EraConversionProcessor<T> extends SubmissionPublisher<EraConversionResult<T>>
+        implements Flow.Processor<T, EraConversionResult<T>> {
+
+    private static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final Function<? super T, EraConversionResult<T>> conversion;
+    private final Executor executor;
+    private final int batchSize;
+    private final int parallelism;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<T> pending = new ArrayDeque<>();
+    private Flow.Subscription subscription;
+    private CompletableFuture<Void> emissions = CompletableFuture.completedFuture(null);
+    private int inFlight;
+    private boolean upstreamDone;
+    private boolean finished;
+    private boolean cancelled;
+    private volatile boolean subscribed;
+    private Throwable upstreamError;
+
+    private EraConversionProcessor(Function<? super T, EraConversionResult<T>> conversion, Executor executor,
+                                   int batchSize, int parallelism) {
+        this.conversion = Objects.requireNonNull(conversion, "conversion");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1");
+        }
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    public static EraConversionProcessor<String> forText(EraConverter converter) {
+        return forText(converter, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public static EraConversionProcessor<String> forText(EraConverter converter, Executor executor,
+                                                         int batchSize, int parallelism) {
+        Objects.requireNonNull(converter, "converter");
+        return new EraConversionProcessor<>(text -> EraConversionResult.of(text, converter.tryParse(text)),
+                executor, batchSize, parallelism);
+    }
+
+    public static EraConversionProcessor<LocalDate> forDates(EraConverter converter) {
+        return forDates(converter, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public static EraConversionProcessor<LocalDate> forDates(EraConverter converter, Executor executor,
+                                                             int batchSize, int parallelism) {
+        Objects.requireNonNull(converter, "converter");
+        return new EraConversionProcessor<LocalDate>(date -> converter.toEra(date)
+                .map(eraDate -> EraConversionResult.success(date, eraDate))
+                .orElseGet(() -> EraConversionResult.failure(date,
+                        new IllegalArgumentException("No era covers date: " + date))),
+                executor, batchSize, parallelism);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        synchronized (lock) {
+            if (this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+        }
+        subscription.request((long) batchSize * parallelism);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super EraConversionResult<T>> subscriber) {
+        super.subscribe(subscriber);
+        subscribed = true;
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item, "item");
+        synchronized (lock) {
+            if (cancelled) {
+                return;
+            }
+            pending.add(item);
+            dispatchReady();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable, "throwable");
+        synchronized (lock) {
+            upstreamError = throwable;
+            upstreamDone = true;
+            dispatchReady();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (lock) {
+            upstreamDone = true;
+            dispatchReady();
+        }
+    }
+
+    private void dispatchReady() {
+        while (inFlight < parallelism && !pending.isEmpty()) {
+            List<T> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            while (batch.size() < batchSize && !pending.isEmpty()) {
+                batch.add(pending.poll());
+            }
+            inFlight++;
+            CompletableFuture<List<EraConversionResult<T>>> converted =
+                    CompletableFuture.supplyAsync(() -> convert(batch), executor);
+            emissions = emissions.thenCombine(converted, (ignored, results) -> {
+                emit(results);
+                return null;
+            });
+        }
+        if (upstreamDone && inFlight == 0 && pending.isEmpty() && !finished) {
+            finished = true;
+            if (upstreamError != null) {
+                closeExceptionally(upstreamError);
+            } else {
+                close();
+            }
+        }
+    }
+
+    private List<EraConversionResult<T>> convert(List<T> batch) {
+        List<EraConversionResult<T>> results = new ArrayList<>(batch.size());
+        for (T item : batch) {
+            try {
+                results.add(conversion.apply(item));
+            } catch (RuntimeException ex) {
+                results.add(EraConversionResult.failure(item, ex));
+            }
+        }
+        return results;
+    }
+
+    private void emit(List<EraConversionResult<T>> results) {
+        boolean stop = false;
+        for (EraConversionResult<T> result : results) {
+            // submit() neither fails nor blocks once all subscribers have cancelled; it just drops the item.
+            if (isClosed() || subscribed && getNumberOfSubscribers() == 0) {
+                stop = true;
+                break;
+            }
+            try {
+                submit(result);
+            } catch (IllegalStateException closed) {
+                stop = true;
+                break;
+            }
+        }
+        Flow.Subscription upstream;
+        boolean alreadyCancelled;
+        synchronized (lock) {
+            inFlight--;
+            upstream = subscription;
+            alreadyCancelled = cancelled;
+            if (stop) {
+                cancelled = true;
+                pending.clear();
+            } else if (!cancelled) {
+                dispatchReady();
+            }
+        }
+        if (alreadyCancelled) {
+            return;
+        }
+        if (stop) {
+            upstream.cancel();
+        } else {
+            upstream.request(results.size());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.aristolab.era;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Outcome of converting a single input item, carrying either the converted {@link EraDate} or the
+ * failure raised while converting it. Parse failures keep their {@link EraParseResult}; the matching
+ * exception is only built on the first call to {@link #error()} and reused afterwards.
+ *
+ * @param <T> type of the converted input
+ */
+public final class EraConversionResult<T> {
+
+    private final T input;
+    private final EraDate value;
+    private final RuntimeException error;
+    private final EraParseResult parseFailure;
+    private final Lazy<RuntimeException> parseError;
+
+    private EraConversionResult(T input, EraDate value, RuntimeException error, EraParseResult parseFailure) {
+        this.input = input;
+        this.value = value;
+        this.error = error;
+        this.parseFailure = parseFailure;
+        this.parseError = parseFailure == null ? null : new Lazy<>(parseFailure::toException);
+    }
+
+    static <T> EraConversionResult<T> success(T input, EraDate value) {
+        return new EraConversionResult<>(input, Objects.requireNonNull(value, "value"), null, null);
+    }
+
+    static <T> EraConversionResult<T> failure(T input, RuntimeException error) {
+        return new EraConversionResult<>(input, null, Objects.requireNonNull(error, "error"), null);
+    }
+
+    static <T> EraConversionResult<T> of(T input, EraParseResult result) {
+        return result.isSuccess()
+                ? success(input, result.value().orElseThrow())
+                : new EraConversionResult<>(input, null, null, result);
+    }
+
+    public T input() {
+        return input;
+    }
+
+    public boolean isSuccess() {
+        return value != null;
+    }
+
+    public Optional<EraDate> value() {
+        return Optional.ofNullable(value);
+    }
+
+    public Optional<RuntimeException> error() {
+        return parseError != null ? Optional.of(parseError.get()) : Optional.ofNullable(error);
+    }
+
+    /**
+     * The failed parse result when the input was text that could not be parsed.
+     */
+    public Optional<EraParseResult> parseFailure() {
+        return Optional.ofNullable(parseFailure);
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? "EraConversionResult{" + input + " -> " + value + '}'
+                : "EraConversionResult{" + input + " failed: "
+                        + (parseFailure != null ? parseFailure.error().orElseThrow() : error.getMessage()) + '}';
+    }
+}
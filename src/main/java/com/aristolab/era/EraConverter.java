@@ -1,9 +1,11 @@
 package com.aristolab.era;
 
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,15 +25,47 @@ public final class EraConverter {
     }
 
     public EraDate parse(String text) {
+        return tryParse(text).orElseThrow();
+    }
+
+    /**
+     * Parses like {@link #parse(String)} but reports bad input through the result instead of throwing, which
+     * keeps junk-heavy bulk input cheap. Error spans are offsets into {@code text}.
+     */
+    public EraParseResult tryParse(String text) {
         if (text == null || text.isBlank()) {
-            throw new IllegalArgumentException("text");
+            return EraParseResult.failure(text, EraParseResult.Error.EMPTY_INPUT, 0, text == null ? 0 : text.length());
         }
         String normalized = text.strip();
-        EraDefinition match = findMatchingDefinition(normalized);
-        int year = extractYear(normalized);
-        Integer month = extractOptional(normalized, MONTH_PATTERN);
-        Integer day = extractOptional(normalized, DAY_PATTERN);
-        return new EraDate(match, year, month, day);
+        int offset = text.length() - text.stripLeading().length();
+        int end = offset + normalized.length();
+        List<EraDefinition> matches = candidates(normalized, 1);
+        if (matches.isEmpty()) {
+            return EraParseResult.failure(text, EraParseResult.Error.ERA_NOT_FOUND, offset, end);
+        }
+        Matcher yearMatcher = YEAR_PATTERN.matcher(normalized);
+        if (!yearMatcher.find()) {
+            return EraParseResult.failure(text, EraParseResult.Error.YEAR_NOT_FOUND, offset, end);
+        }
+        int year = ChineseNumberFormatter.tryParse(yearMatcher.group(1));
+        if (year < 1) {
+            return EraParseResult.failure(text, EraParseResult.Error.INVALID_YEAR,
+                    offset + yearMatcher.start(1), offset + yearMatcher.end(1));
+        }
+        Integer month = null;
+        boolean leapMonth = false;
+        Matcher monthMatcher = MONTH_PATTERN.matcher(normalized);
+        if (monthMatcher.find()) {
+            String value = monthMatcher.group(1);
+            char first = value.charAt(0);
+            leapMonth = first == '閏' || first == '闰';
+            month = optionalNumeral(leapMonth ? value.substring(1) : value);
+            // An unreadable month is dropped, together with its leap marker.
+            leapMonth = leapMonth && month != null;
+        }
+        Matcher dayMatcher = DAY_PATTERN.matcher(normalized);
+        Integer day = dayMatcher.find() ? optionalNumeral(dayMatcher.group(1).replace("初", "")) : null;
+        return EraParseResult.success(text, new EraDate(matches.getFirst(), year, month, leapMonth, day));
     }
 
     public int toGregorianYear(EraDate eraDate) {
@@ -39,6 +73,69 @@ public final class EraConverter {
         return eraDate.definition().startDate().getYear() + eraDate.year() - 1;
     }
 
+    /**
+     * Bulk form of {@link #toEra(LocalDate)}: for each epoch day, the id of the era {@code toEra} would pick, or
+     * {@code -1}. Ids are positions in the registry as used by {@link EraRegistry#succession()}. In
+     * {@link EraRegistry.DayLookup#DENSE} mode the day table replaces the search.
+     *
+     * @return {@code eraIds}, filled for the length of {@code epochDays}
+     */
+    public int[] toEraIds(long[] epochDays, int[] eraIds) {
+        checkLengths(epochDays.length, eraIds.length);
+        EraIndex index = registry.index();
+        EraDayTable days = registry.dayLookup() == EraRegistry.DayLookup.DENSE ? index.intervals().dayTable() : null;
+        if (days != null) {
+            index.bulk().eraIds(epochDays, eraIds, epochDays.length, days);
+        } else {
+            index.bulk().eraIds(epochDays, eraIds, epochDays.length);
+        }
+        return eraIds;
+    }
+
+    /**
+     * Bulk form of the years of {@link #toEra(LocalDate)}: the Gregorian-counted year of each epoch day within
+     * the era of the same index, or {@code 0} where the id is {@code -1}.
+     *
+     * @return {@code eraYears}, filled for the length of {@code epochDays}
+     * @throws IllegalArgumentException if a day lies outside of its era
+     */
+    public int[] toEraYears(long[] epochDays, int[] eraIds, int[] eraYears) {
+        checkLengths(epochDays.length, eraIds.length);
+        checkLengths(epochDays.length, eraYears.length);
+        registry.index().bulk().eraYears(epochDays, eraIds, eraYears, epochDays.length);
+        return eraYears;
+    }
+
+    /**
+     * Bulk form of {@link #toGregorianYear(EraDate)} over era id and era year pairs; {@code 0} where the id is
+     * {@code -1}.
+     *
+     * @return {@code gregorianYears}, filled for the length of {@code eraIds}
+     */
+    public int[] toGregorianYears(int[] eraIds, int[] eraYears, int[] gregorianYears) {
+        checkLengths(eraIds.length, eraYears.length);
+        checkLengths(eraIds.length, gregorianYears.length);
+        registry.index().bulk().gregorianYears(eraIds, eraYears, gregorianYears, eraIds.length);
+        return gregorianYears;
+    }
+
+    /**
+     * Bulk form of {@link EraDefinition#contains(LocalDate)} for the era with id {@code eraId}.
+     *
+     * @return {@code result}, filled for the length of {@code epochDays}
+     */
+    public boolean[] contains(int eraId, long[] epochDays, boolean[] result) {
+        checkLengths(epochDays.length, result.length);
+        registry.index().bulk().contains(eraId, epochDays, result, epochDays.length);
+        return result;
+    }
+
+    private static void checkLengths(int input, int output) {
+        if (output < input) {
+            throw new IllegalArgumentException("Array of length " + output + " cannot hold " + input + " values");
+        }
+    }
+
     public Optional<EraDate> toEra(LocalDate date) {
         Objects.requireNonNull(date, "date");
         return registry.findByDate(date).map(def -> {
@@ -47,6 +144,93 @@ public final class EraConverter {
         });
     }
 
+    /**
+     * Full era date for {@code date}: lunar era year (counted in lunar new years since the era began), lunar
+     * month including leap months, and day. Returns the earliest-starting era when several are in force;
+     * see {@link #toLunarEras(LocalDate)} for all of them.
+     * <p>
+     * Unlike {@link #toEra(LocalDate)}, which counts Gregorian years, the year changes on lunar new year.
+     * Dates outside of the bundled lunar table fall back to {@link #toEra(LocalDate)}.
+     */
+    public Optional<EraDate> toLunarEra(LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        return lunarEra(date.toEpochDay());
+    }
+
+    public Optional<EraDate> toLunarEra(JulianDate date) {
+        Objects.requireNonNull(date, "date");
+        return lunarEra(date.toEpochDay());
+    }
+
+    /**
+     * {@link #toLunarEra(LocalDate)} for a Julian Day Number.
+     */
+    public Optional<EraDate> toLunarEraAtJulianDay(long julianDay) {
+        return lunarEra(julianDay - JulianDate.EPOCH_JULIAN_DAY);
+    }
+
+    /**
+     * Full era dates for every era, across all regimes, in force on {@code date}, in start order.
+     */
+    public List<EraDate> toLunarEras(LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        return lunarEras(date.toEpochDay());
+    }
+
+    public List<EraDate> toLunarEras(JulianDate date) {
+        Objects.requireNonNull(date, "date");
+        return lunarEras(date.toEpochDay());
+    }
+
+    /**
+     * {@link #toEra(LocalDate)} for a date given in the Julian calendar.
+     */
+    public Optional<EraDate> toEra(JulianDate date) {
+        Objects.requireNonNull(date, "date");
+        return toEra(date.toLocalDate());
+    }
+
+    /**
+     * {@link #toGregorianDate(EraDate)} expressed in the Julian calendar.
+     */
+    public JulianDate toJulianDate(EraDate eraDate) {
+        return JulianDate.from(toGregorianDate(eraDate));
+    }
+
+    private Optional<EraDate> lunarEra(long epochDay) {
+        List<EraDefinition> definitions = registry.definitionsAt(epochDay);
+        if (definitions.isEmpty()) {
+            return Optional.empty();
+        }
+        LunarCalendarTable table = LunarCalendarTable.instance();
+        if (!table.covers(epochDay)) {
+            return toEra(LocalDate.ofEpochDay(epochDay));
+        }
+        return Optional.of(EraTimeline.label(definitions.getFirst(), epochDay, table.monthIndex(epochDay)));
+    }
+
+    private List<EraDate> lunarEras(long epochDay) {
+        List<EraDefinition> definitions = registry.definitionsAt(epochDay);
+        if (definitions.isEmpty()) {
+            return List.of();
+        }
+        LunarCalendarTable table = LunarCalendarTable.instance();
+        EraDate[] result = new EraDate[definitions.size()];
+        if (table.covers(epochDay)) {
+            int month = table.monthIndex(epochDay);
+            for (int i = 0; i < result.length; i++) {
+                result[i] = EraTimeline.label(definitions.get(i), epochDay, month);
+            }
+        } else {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            for (int i = 0; i < result.length; i++) {
+                EraDefinition definition = definitions.get(i);
+                result[i] = new EraDate(definition, definition.yearOffset(date) + 1);
+            }
+        }
+        return List.of(result);
+    }
+
     public LocalDate toGregorianDate(EraDate eraDate) {
         Objects.requireNonNull(eraDate, "eraDate");
         EraDefinition definition = eraDate.definition();
@@ -61,13 +245,24 @@ public final class EraConverter {
         return LocalDate.of(base.getYear(), month, day);
     }
 
+    /**
+     * Definitions named in {@code text}, best match first. Only definitions owning an alias that occurs in the
+     * text are scored; those are found with the registry's alias trie, so the cost depends on the text and not
+     * on the size of the catalogue.
+     */
     public List<EraDefinition> candidates(String text, int limit) {
         if (text == null || text.isBlank()) {
             return List.of();
         }
         int max = limit <= 0 ? Integer.MAX_VALUE : limit;
         String normalized = text.strip();
-        return registry.definitions().stream()
+        // Every definition scoring above zero contains one of its aliases: the era name is always an alias and
+        // the display name ends with it.
+        Set<EraDefinition> named = new LinkedHashSet<>();
+        for (String alias : registry.aliasesIn(normalized)) {
+            named.addAll(registry.definitionsByAlias(alias));
+        }
+        return named.stream()
                 .map(def -> new Candidate(def, bestMatchLength(def, normalized)))
                 .filter(candidate -> candidate.score > 0)
                 .sorted()
@@ -76,12 +271,6 @@ public final class EraConverter {
                 .toList();
     }
 
-    private EraDefinition findMatchingDefinition(String text) {
-        return candidates(text, 1).stream()
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Unable to locate era information in text: " + text));
-    }
-
     static int bestMatchLength(EraDefinition def, String text) {
         int best = 0;
         for (String alias : def.aliases()) {
@@ -115,25 +304,8 @@ public final class EraConverter {
         }
     }
 
-    private static int extractYear(String text) {
-        Matcher matcher = YEAR_PATTERN.matcher(text);
-        if (!matcher.find()) {
-            throw new IllegalArgumentException("Era year not found in text: " + text);
-        }
-        return ChineseNumberFormatter.parse(matcher.group(1));
-    }
-
-    private static Integer extractOptional(String text, Pattern pattern) {
-        Matcher matcher = pattern.matcher(text);
-        if (matcher.find()) {
-            String value = matcher.group(1);
-            value = value.replace("閏", "").replace("闰", "").replace("初", "");
-            try {
-                return ChineseNumberFormatter.parse(value);
-            } catch (IllegalArgumentException ignored) {
-                return null;
-            }
-        }
-        return null;
+    private static Integer optionalNumeral(String value) {
+        int result = ChineseNumberFormatter.tryParse(value);
+        return result == ChineseNumberFormatter.INVALID ? null : result;
     }
 }
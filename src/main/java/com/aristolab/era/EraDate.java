@@ -1,5 +1,6 @@
 package com.aristolab.era;
 
+import java.io.IOException;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -11,6 +12,7 @@ public final class EraDate {
     private final EraDefinition definition;
     private final int year;
     private final Integer month;
+    private final boolean leapMonth;
     private final Integer day;
 
     public EraDate(EraDefinition definition, int year) {
@@ -18,12 +20,20 @@ public final class EraDate {
     }
 
     public EraDate(EraDefinition definition, int year, Integer month, Integer day) {
+        this(definition, year, month, false, day);
+    }
+
+    public EraDate(EraDefinition definition, int year, Integer month, boolean leapMonth, Integer day) {
         if (year < 1) {
             throw new IllegalArgumentException("Era year must be >= 1");
         }
+        if (leapMonth && month == null) {
+            throw new IllegalArgumentException("leapMonth requires a month");
+        }
         this.definition = Objects.requireNonNull(definition, "definition");
         this.year = year;
         this.month = month;
+        this.leapMonth = leapMonth;
         this.day = day;
     }
 
@@ -39,18 +49,44 @@ public final class EraDate {
         return Optional.ofNullable(month);
     }
 
+    public boolean isLeapMonth() {
+        return leapMonth;
+    }
+
     public Optional<Integer> day() {
         return Optional.ofNullable(day);
     }
 
     public String toText() {
-        StringBuilder builder = new StringBuilder();
-        builder.append(definition.dynasty()).append(definition.eraName()).append(ChineseNumberFormatter.format(year)).append("年");
-        month().ifPresent(m -> builder.append(ChineseNumberFormatter.format(m)).append("月"));
-        day().ifPresent(d -> builder.append(ChineseNumberFormatter.format(d)).append("日"));
+        StringBuilder builder = new StringBuilder(16);
+        try {
+            writeText(builder);
+        } catch (IOException ex) {
+            throw new IllegalStateException("StringBuilder does not throw", ex);
+        }
         return builder.toString();
     }
 
+    /**
+     * Streams the textual form of this date into {@code out} without building intermediate strings.
+     */
+    public void writeText(Appendable out) throws IOException {
+        out.append(definition.dynasty()).append(definition.eraName());
+        ChineseNumberFormatter.appendTo(out, year);
+        out.append('年');
+        if (month != null) {
+            if (leapMonth) {
+                out.append('閏');
+            }
+            ChineseNumberFormatter.appendTo(out, month);
+            out.append('月');
+        }
+        if (day != null) {
+            ChineseNumberFormatter.appendTo(out, day);
+            out.append('日');
+        }
+    }
+
     @Override
     public String toString() {
         return toText();
@@ -0,0 +1,80 @@
+package com.aristolab.era;
+
+import java.util.List;
+
+/**
+ * Direct-mapped day table: one era-set id per epoch day between the first era start and the last era end,
+ * so a point lookup is a subtraction and two array reads.
+ * <p>
+ * Ids are the elementary segments of {@link EraIntervalIndex}, whose era lists serve as the side table for
+ * days with several regimes in force. Ids are stored as {@code char} while there are fewer than 65536
+ * segments, i.e. two bytes per day: the bundled catalogue spans about 779k days, roughly 1.5 MB. Spans
+ * longer than {@link #MAX_DAYS} are not tabulated; {@link EraIntervalIndex#dayTable()} leaves such catalogues
+ * on the segment search.
+ */
+final class EraDayTable {
+
+    /**
+     * Longest span tabulated, about 11,500 years: at most 8 MB with narrow ids, 16 MB with wide ones.
+     */
+    static final long MAX_DAYS = 1L << 22;
+
+    private final long firstDay;
+    private final char[] narrowIds;
+    private final int[] wideIds;
+    private final List<EraDefinition>[] sets;
+
+    EraDayTable(long[] boundaries, List<EraDefinition>[] sets) {
+        this.sets = sets;
+        if (!fits(boundaries)) {
+            throw new IllegalArgumentException("Eras span more than " + MAX_DAYS + " days");
+        }
+        this.firstDay = boundaries.length == 0 ? 0 : boundaries[0];
+        int days = boundaries.length == 0 ? 0 : (int) (boundaries[boundaries.length - 1] - firstDay);
+        boolean narrow = sets.length <= Character.MAX_VALUE;
+        this.narrowIds = narrow ? new char[days] : null;
+        this.wideIds = narrow ? null : new int[days];
+        for (int segment = 0; segment < sets.length; segment++) {
+            int from = (int) (boundaries[segment] - firstDay);
+            int to = (int) (boundaries[segment + 1] - firstDay);
+            for (int day = from; day < to; day++) {
+                if (narrow) {
+                    narrowIds[day] = (char) segment;
+                } else {
+                    wideIds[day] = segment;
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the segments starting at {@code boundaries} span at most {@link #MAX_DAYS}.
+     */
+    static boolean fits(long[] boundaries) {
+        return boundaries.length == 0 || boundaries[boundaries.length - 1] - boundaries[0] <= MAX_DAYS;
+    }
+
+    List<EraDefinition> at(long epochDay) {
+        int segment = segmentAt(epochDay);
+        return segment < 0 ? List.of() : sets[segment];
+    }
+
+    /**
+     * Segment of {@link EraIntervalIndex} containing {@code epochDay}, or {@code -1} outside of the table.
+     */
+    int segmentAt(long epochDay) {
+        long offset = epochDay - firstDay;
+        int days = narrowIds != null ? narrowIds.length : wideIds.length;
+        if (offset < 0 || offset >= days) {
+            return -1;
+        }
+        return narrowIds != null ? narrowIds[(int) offset] : wideIds[(int) offset];
+    }
+
+    /**
+     * Approximate heap used by the id array, not counting the shared era lists.
+     */
+    long memoryBytes() {
+        return narrowIds != null ? 2L * narrowIds.length : 4L * wideIds.length;
+    }
+}
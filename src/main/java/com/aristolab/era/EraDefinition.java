@@ -22,6 +22,7 @@ public final class EraDefinition {
     private final LocalDate startDate;
     private final LocalDate endDate;
     private final String notes;
+    private final int hash;
 
     @JsonCreator
     public EraDefinition(
@@ -55,6 +56,7 @@ public final class EraDefinition {
             this.aliases = Collections.unmodifiableList(normalized);
         }
         this.notes = notes == null ? "" : notes.trim();
+        this.hash = Objects.hash(dynasty, emperor, eraName, startDate, endDate);
     }
 
     @JsonProperty("dynasty")
@@ -143,6 +145,6 @@ public final class EraDefinition {
 
     @Override
     public int hashCode() {
-        return Objects.hash(dynasty, emperor, eraName, startDate, endDate);
+        return hash;
     }
 }
@@ -0,0 +1,239 @@
+package com.aristolab.era;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Precompiled HTML template used to render {@link EraDate} annotations.
+ * <p>
+ * The markup between the dynamic values is escaped and concatenated once when the template is built, so
+ * rendering only appends those fragments and the escaped values to the target {@link Appendable}.
+ */
+public final class EraHtmlTemplate {
+
+    private static final EraHtmlTemplate DEFAULT = builder().build();
+
+    private final String open;
+    private final String dynastyAttribute;
+    private final String eraAttribute;
+    private final String emperorAttribute;
+    private final String lunarDateAttribute;
+    private final String gregorianDateAttribute;
+
+    private EraHtmlTemplate(Builder builder) {
+        StringBuilder prefix = new StringBuilder("<span");
+        if (builder.cssClass != null) {
+            prefix.append(" class=\"");
+            escape(builder.cssClass, prefix);
+            prefix.append('"');
+        }
+        this.open = prefix.toString();
+        this.dynastyAttribute = attributePrefix(builder.dynastyAttribute);
+        this.eraAttribute = attributePrefix(builder.eraAttribute);
+        this.emperorAttribute = attributePrefix(builder.emperorAttribute);
+        this.lunarDateAttribute = attributePrefix(builder.lunarDateAttribute);
+        this.gregorianDateAttribute = attributePrefix(builder.gregorianDateAttribute);
+    }
+
+    /**
+     * Template producing {@code <span class="era" data-dynasty="…" data-era="…">…</span>}.
+     */
+    public static EraHtmlTemplate defaults() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean needsGregorianDate() {
+        return lunarDateAttribute != null || gregorianDateAttribute != null;
+    }
+
+    /**
+     * Renders the annotation for {@code date}. {@code gregorian} is only read when
+     * {@link #needsGregorianDate()} is {@code true} and may otherwise be {@code null}.
+     */
+    public void write(EraDate date, LocalDate gregorian, Appendable out) throws IOException {
+        Objects.requireNonNull(date, "date");
+        EraDefinition definition = date.definition();
+        out.append(open);
+        writeAttribute(dynastyAttribute, definition.dynasty(), out);
+        writeAttribute(eraAttribute, definition.eraName(), out);
+        writeAttribute(emperorAttribute, definition.emperor(), out);
+        if (needsGregorianDate()) {
+            Objects.requireNonNull(gregorian, "gregorian");
+            if (lunarDateAttribute != null) {
+                out.append(lunarDateAttribute);
+                EraToolkit.writeChineseCalendar(gregorian, out);
+                out.append('"');
+            }
+            if (gregorianDateAttribute != null) {
+                out.append(gregorianDateAttribute);
+                writeIsoDate(gregorian, out);
+                out.append('"');
+            }
+        }
+        out.append('>');
+        date.writeText(new EscapingAppendable(out));
+        out.append("</span>");
+    }
+
+    private static void writeAttribute(String prefix, String value, Appendable out) throws IOException {
+        if (prefix != null) {
+            out.append(prefix);
+            escape(value, out);
+            out.append('"');
+        }
+    }
+
+    private static void writeIsoDate(LocalDate date, Appendable out) throws IOException {
+        int year = date.getYear();
+        if (year < 0) {
+            out.append('-');
+        } else if (year > 9999) {
+            out.append('+');
+        }
+        writeDigits(Math.abs(year), 4, out);
+        out.append('-');
+        writeDigits(date.getMonthValue(), 2, out);
+        out.append('-');
+        writeDigits(date.getDayOfMonth(), 2, out);
+    }
+
+    private static void writeDigits(int value, int width, Appendable out) throws IOException {
+        int divisor = 1;
+        int digits = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            out.append('0');
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static String attributePrefix(String name) {
+        if (name == null) {
+            return null;
+        }
+        if (name.isBlank() || !name.chars().allMatch(ch -> Character.isLetterOrDigit(ch) || ch == '-' || ch == '_')) {
+            throw new IllegalArgumentException("Invalid attribute name: " + name);
+        }
+        return " " + name + "=\"";
+    }
+
+    static void escape(CharSequence text, Appendable out) throws IOException {
+        int flushed = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String replacement = replacement(text.charAt(i));
+            if (replacement != null) {
+                out.append(text, flushed, i).append(replacement);
+                flushed = i + 1;
+            }
+        }
+        out.append(text, flushed, text.length());
+    }
+
+    private static void escape(CharSequence text, StringBuilder out) {
+        try {
+            escape(text, (Appendable) out);
+        } catch (IOException ex) {
+            throw new IllegalStateException("StringBuilder does not throw", ex);
+        }
+    }
+
+    private static String replacement(char ch) {
+        return switch (ch) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '"' -> "&quot;";
+            case '\'' -> "&#39;";
+            default -> null;
+        };
+    }
+
+    /**
+     * Escapes everything written through it before forwarding to the target.
+     */
+    private record EscapingAppendable(Appendable target) implements Appendable {
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            escape(csq, target);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            escape(csq.subSequence(start, end), target);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            String replacement = replacement(c);
+            if (replacement == null) {
+                target.append(c);
+            } else {
+                target.append(replacement);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Builder for {@link EraHtmlTemplate}. Passing {@code null} to any setter omits that part of the markup.
+     */
+    public static final class Builder {
+
+        private String cssClass = "era";
+        private String dynastyAttribute = "data-dynasty";
+        private String eraAttribute = "data-era";
+        private String emperorAttribute;
+        private String lunarDateAttribute;
+        private String gregorianDateAttribute;
+
+        private Builder() {
+        }
+
+        public Builder cssClass(String cssClass) {
+            this.cssClass = cssClass;
+            return this;
+        }
+
+        public Builder dynastyAttribute(String name) {
+            this.dynastyAttribute = name;
+            return this;
+        }
+
+        public Builder eraAttribute(String name) {
+            this.eraAttribute = name;
+            return this;
+        }
+
+        public Builder emperorAttribute(String name) {
+            this.emperorAttribute = name;
+            return this;
+        }
+
+        public Builder lunarDateAttribute(String name) {
+            this.lunarDateAttribute = name;
+            return this;
+        }
+
+        public Builder gregorianDateAttribute(String name) {
+            this.gregorianDateAttribute = name;
+            return this;
+        }
+
+        public EraHtmlTemplate build() {
+            return new EraHtmlTemplate(this);
+        }
+    }
+}
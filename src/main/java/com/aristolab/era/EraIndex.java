@@ -0,0 +1,238 @@
+package com.aristolab.era;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable derived views of a registry snapshot. Built once per {@link EraRegistry} and shared by all
+ * callers, so every structure exposed here must stay unmodifiable.
+ */
+final class EraIndex {
+
+    private final List<EraDefinition> all;
+    private final Map<EraDefinition, Integer> ids;
+    private final Map<String, List<EraDefinition>> byAlias;
+    private final Map<String, List<EraDefinition>> byDynasty;
+    private final Map<String, List<EraPeriod>> periods;
+    private final Map<EraDefinition, List<LocalDate>> yearStarts;
+    private final int firstYear;
+    private final List<EraDefinition>[] byYear;
+    private final Pattern eraListPattern;
+    private final EraIntervalIndex intervals;
+    private final List<EraDefinition> distinct;
+    private final Lazy<EraBitmapIndex> bitmaps;
+    private final Lazy<EraNotesIndex> notes;
+    private final Lazy<EraBulkTable> bulk;
+    private final int maxAliasLength;
+    private final List<String> aliasTexts;
+    private final Lazy<EraMentionMatcher> mentionMatcher;
+    private final EraSuccession succession;
+
+    private EraIndex(Builder builder) {
+        builder.aliases.replaceAll((key, value) -> List.copyOf(value));
+        builder.dynasties.replaceAll((key, value) -> Collections.unmodifiableList(value));
+        builder.grouped.replaceAll((key, value) -> Collections.unmodifiableList(value));
+        this.ids = Collections.unmodifiableMap(builder.identifiers);
+        this.byAlias = Collections.unmodifiableMap(builder.aliases);
+        this.byDynasty = Collections.unmodifiableMap(builder.dynasties);
+        this.periods = Collections.unmodifiableMap(builder.grouped);
+        this.yearStarts = Collections.unmodifiableMap(builder.starts);
+        List<EraDefinition> definitions = builder.definitions;
+        this.firstYear = definitions.isEmpty() ? 0 : builder.minYear;
+        this.byYear = yearBuckets(definitions, firstYear, definitions.isEmpty() ? -1 : builder.maxYear);
+        this.eraListPattern = Pattern.compile(builder.aliasTexts.stream()
+                .sorted((a, b) -> Integer.compare(b.length(), a.length()))
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|")));
+        this.distinct = definitions.stream().distinct().toList();
+        this.intervals = new EraIntervalIndex(distinct);
+        this.maxAliasLength = builder.aliasTexts.stream().mapToInt(String::length).max().orElse(0);
+        this.aliasTexts = List.copyOf(builder.aliasTexts);
+        this.all = List.copyOf(definitions);
+        this.succession = builder.succession.build(all, ids);
+        this.bitmaps = new Lazy<>(() -> new EraBitmapIndex(distinct));
+        this.notes = new Lazy<>(() -> new EraNotesIndex(distinct));
+        this.bulk = new Lazy<>(() -> new EraBulkTable(intervals.boundaries(), intervals.active(), all, ids));
+        this.mentionMatcher = new Lazy<>(() -> maxAliasLength > 0 ? EraMentionMatcher.of(aliasTexts) : null);
+    }
+
+    EraIndex(List<EraDefinition> definitions) {
+        this(collect(definitions));
+    }
+
+    private static Builder collect(List<EraDefinition> definitions) {
+        Builder builder = new Builder();
+        definitions.forEach(builder::add);
+        return builder;
+    }
+
+    /**
+     * Position of the definition in the registry's start-ordered list, or {@code -1} when absent.
+     */
+    int idOf(EraDefinition definition) {
+        Integer id = ids.get(definition);
+        return id == null ? -1 : id;
+    }
+
+    List<EraDefinition> byAliasAll(String name) {
+        return byAlias.getOrDefault(normalize(name), List.of());
+    }
+
+    List<EraDefinition> byDynasty(String dynasty) {
+        return byDynasty.getOrDefault(dynasty, List.of());
+    }
+
+    Map<String, List<EraPeriod>> periods() {
+        return periods;
+    }
+
+    List<LocalDate> yearStarts(EraDefinition definition) {
+        return yearStarts.getOrDefault(definition, List.of());
+    }
+
+    List<EraDefinition> byYear(int year) {
+        int slot = year - firstYear;
+        if (slot < 0 || slot >= byYear.length) {
+            return List.of();
+        }
+        return byYear[slot];
+    }
+
+    Pattern eraListPattern() {
+        return eraListPattern;
+    }
+
+    EraIntervalIndex intervals() {
+        return intervals;
+    }
+
+    EraSuccession succession() {
+        return succession;
+    }
+
+    /**
+     * Attribute bitsets for {@link EraQuery}, built on first use.
+     */
+    EraBitmapIndex bitmaps() {
+        return bitmaps.get();
+    }
+
+    /**
+     * Bigram index over notes for {@link EraRegistry#searchNotes}, built on first use.
+     */
+    EraNotesIndex notes() {
+        return notes.get();
+    }
+
+    int maxAliasLength() {
+        return maxAliasLength;
+    }
+
+    /**
+     * Matcher used by {@link EraAnnotator} and {@link EraArchiveScanner}, built on first use; {@code null} when
+     * there are no aliases.
+     */
+    EraMentionMatcher mentionMatcher() {
+        return mentionMatcher.get();
+    }
+
+    /**
+     * Primitive arrays for the bulk conversions of {@link EraConverter}, built on first use.
+     */
+    EraBulkTable bulk() {
+        return bulk.get();
+    }
+
+    /**
+     * Builds every structure that is otherwise built on first use.
+     */
+    void warmUp() {
+        mentionMatcher();
+        bitmaps();
+        notes();
+        bulk();
+    }
+
+    private static List<LocalDate> computeYearStarts(EraDefinition definition) {
+        List<LocalDate> result = new ArrayList<>();
+        LocalDate cursor = definition.startDate();
+        while (!cursor.isAfter(definition.endDate())) {
+            result.add(cursor);
+            cursor = cursor.plusYears(1);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<EraDefinition>[] yearBuckets(List<EraDefinition> definitions, int firstYear, int lastYear) {
+        List<EraDefinition>[] buckets = new List[lastYear - firstYear + 1];
+        for (EraDefinition definition : definitions) {
+            for (int year = definition.startDate().getYear(); year <= definition.endDate().getYear(); year++) {
+                int slot = year - firstYear;
+                if (buckets[slot] == null) {
+                    buckets[slot] = new ArrayList<>(4);
+                }
+                buckets[slot].add(definition);
+            }
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = buckets[i] == null ? List.of() : List.copyOf(buckets[i]);
+        }
+        return buckets;
+    }
+
+    static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Accumulates the index one definition at a time so it can be filled during another pass over the
+     * data, such as registry validation. Definitions must be added in start order.
+     */
+    static final class Builder {
+
+        private final List<EraDefinition> definitions = new ArrayList<>();
+        private final Map<EraDefinition, Integer> identifiers = new HashMap<>();
+        private final Map<String, List<EraDefinition>> aliases = new HashMap<>();
+        private final Map<String, List<EraDefinition>> dynasties = new LinkedHashMap<>();
+        private final Map<String, List<EraPeriod>> grouped = new LinkedHashMap<>();
+        private final Map<EraDefinition, List<LocalDate>> starts = new HashMap<>();
+        private final Set<String> aliasTexts = new LinkedHashSet<>();
+        private final EraSuccession.Builder succession = new EraSuccession.Builder();
+        private int minYear = Integer.MAX_VALUE;
+        private int maxYear = Integer.MIN_VALUE;
+
+        void add(EraDefinition definition) {
+            int id = definitions.size();
+            succession.add(definition, id, identifiers.putIfAbsent(definition, id) != null);
+            definitions.add(definition);
+            for (String alias : definition.aliases()) {
+                List<EraDefinition> matches = aliases.computeIfAbsent(normalize(alias), key -> new ArrayList<>(1));
+                if (matches.isEmpty() || matches.getLast() != definition) {
+                    matches.add(definition);
+                }
+                aliasTexts.add(alias);
+            }
+            dynasties.computeIfAbsent(definition.dynasty(), key -> new ArrayList<>()).add(definition);
+            grouped.computeIfAbsent(definition.dynasty(), key -> new ArrayList<>())
+                    .add(new EraPeriod(definition.displayName(), definition.startDate(), definition.endDate()));
+            starts.putIfAbsent(definition, computeYearStarts(definition));
+            minYear = Math.min(minYear, definition.startDate().getYear());
+            maxYear = Math.max(maxYear, definition.endDate().getYear());
+        }
+
+        EraIndex build() {
+            return new EraIndex(this);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.aristolab.era;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Interval structures over era spans, in epoch days.
+ * <p>
+ * The timeline is cut into elementary segments at every era start and every day after an era end, and each
+ * segment stores the eras in force on it, so point and range lookups are a binary search plus a walk over
+ * the segments actually returned. Counts use sorted start/end arrays: an interval intersects {@code [s, e]}
+ * exactly when it starts on or before {@code e} and does not end before {@code s}.
+ */
+final class EraIntervalIndex {
+
+    private final long[] boundaries;
+    private final List<EraDefinition>[] active;
+    private final long[] eraStarts;
+    private final long[] eraEnds;
+    private final long[] runStarts;
+    private final long[] runEnds;
+    private final GapTree gaps;
+    private final Lazy<EraDayTable> dayTable;
+
+    EraIntervalIndex(List<EraDefinition> definitions) {
+        this.eraStarts = definitions.stream().mapToLong(def -> def.startDate().toEpochDay()).sorted().toArray();
+        this.eraEnds = definitions.stream().mapToLong(def -> def.endDate().toEpochDay()).sorted().toArray();
+        this.boundaries = Arrays.stream(concat(eraStarts, eraEnds, 1)).sorted().distinct().toArray();
+        this.active = segments(definitions, boundaries);
+
+        // Coverage runs per dynasty: the union of its era spans, split where the dynasty has a gap.
+        Map<String, List<long[]>> runs = new LinkedHashMap<>();
+        for (EraDefinition definition : definitions) {
+            List<long[]> dynastyRuns = runs.computeIfAbsent(definition.dynasty(), key -> new ArrayList<>());
+            long start = definition.startDate().toEpochDay();
+            long end = definition.endDate().toEpochDay();
+            long[] last = dynastyRuns.isEmpty() ? null : dynastyRuns.getLast();
+            if (last != null && start <= last[1] + 1) {
+                last[1] = Math.max(last[1], end);
+            } else {
+                dynastyRuns.add(new long[]{start, end});
+            }
+        }
+        List<long[]> allRuns = new ArrayList<>();
+        List<long[]> allGaps = new ArrayList<>();
+        for (List<long[]> dynastyRuns : runs.values()) {
+            for (int i = 0; i < dynastyRuns.size(); i++) {
+                allRuns.add(dynastyRuns.get(i));
+                if (i > 0) {
+                    allGaps.add(new long[]{dynastyRuns.get(i - 1)[1] + 1, dynastyRuns.get(i)[0] - 1});
+                }
+            }
+        }
+        this.runStarts = allRuns.stream().mapToLong(run -> run[0]).sorted().toArray();
+        this.runEnds = allRuns.stream().mapToLong(run -> run[1]).sorted().toArray();
+        this.gaps = new GapTree(allGaps);
+        this.dayTable = new Lazy<>(() -> EraDayTable.fits(boundaries) ? new EraDayTable(boundaries, active) : null);
+    }
+
+    List<EraDefinition> at(long epochDay) {
+        int segment = segmentOf(epochDay);
+        return segment < 0 || segment >= active.length ? List.of() : active[segment];
+    }
+
+    /**
+     * Ascending segment start days; the last entry only closes the last segment. Shared, do not modify.
+     */
+    long[] boundaries() {
+        return boundaries;
+    }
+
+    /**
+     * Eras in force per segment. Shared, do not modify.
+     */
+    List<EraDefinition>[] active() {
+        return active;
+    }
+
+    /**
+     * The dense form of {@link #at(long)}, built on first use, or {@code null} when the eras span more than
+     * {@link EraDayTable#MAX_DAYS} and lookups stay on the segments.
+     */
+    EraDayTable dayTable() {
+        return dayTable.get();
+    }
+
+    List<EraSegment> segments(LocalDate start, LocalDate end) {
+        long from = start.toEpochDay();
+        long to = end.toEpochDay();
+        List<EraSegment> result = new ArrayList<>();
+        int segment = Math.max(segmentOf(from), 0);
+        for (; segment < active.length && boundaries[segment] <= to; segment++) {
+            if (active[segment].isEmpty()) {
+                continue;
+            }
+            long segmentStart = Math.max(boundaries[segment], from);
+            long segmentEnd = Math.min(boundaries[segment + 1] - 1, to);
+            result.add(new EraSegment(LocalDate.ofEpochDay(segmentStart), LocalDate.ofEpochDay(segmentEnd),
+                    active[segment]));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    int eraCount(LocalDate start, LocalDate end) {
+        return intersecting(eraStarts, eraEnds, start.toEpochDay(), end.toEpochDay());
+    }
+
+    int dynastyCount(LocalDate start, LocalDate end) {
+        long from = start.toEpochDay();
+        long to = end.toEpochDay();
+        // Runs of one dynasty that intersect the range are consecutive, and a gap separates two of them exactly
+        // when it lies strictly inside the range, so subtracting those gaps counts each dynasty once.
+        return intersecting(runStarts, runEnds, from, to) - gaps.countWithin(from + 1, to - 1);
+    }
+
+    /**
+     * Index of the segment containing {@code epochDay}: {@code -1} before the first boundary and
+     * {@code active.length} from the last boundary on.
+     */
+    private int segmentOf(long epochDay) {
+        int position = Arrays.binarySearch(boundaries, epochDay);
+        return position >= 0 ? position : -position - 2;
+    }
+
+    private static int intersecting(long[] sortedStarts, long[] sortedEnds, long from, long to) {
+        return countAtMost(sortedStarts, to) - countAtMost(sortedEnds, from - 1);
+    }
+
+    private static int countAtMost(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] concat(long[] starts, long[] ends, long endOffset) {
+        long[] result = Arrays.copyOf(starts, starts.length + ends.length);
+        for (int i = 0; i < ends.length; i++) {
+            result[starts.length + i] = ends[i] + endOffset;
+        }
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<EraDefinition>[] segments(List<EraDefinition> definitions, long[] boundaries) {
+        List<EraDefinition>[] result = new List[Math.max(boundaries.length - 1, 0)];
+        // Keyed by start-order position so each segment lists its eras in registry order.
+        TreeMap<Integer, EraDefinition> current = new TreeMap<>();
+        TreeMap<Long, List<Integer>> endings = new TreeMap<>();
+        int next = 0;
+        for (int segment = 0; segment < result.length; segment++) {
+            long day = boundaries[segment];
+            while (!endings.isEmpty() && endings.firstKey() < day) {
+                endings.pollFirstEntry().getValue().forEach(current::remove);
+            }
+            while (next < definitions.size() && definitions.get(next).startDate().toEpochDay() == day) {
+                EraDefinition definition = definitions.get(next);
+                current.put(next, definition);
+                endings.computeIfAbsent(definition.endDate().toEpochDay(), key -> new ArrayList<>()).add(next);
+                next++;
+            }
+            result[segment] = List.copyOf(current.values());
+        }
+        return result;
+    }
+
+    /**
+     * Merge-sort tree over gap intervals sorted by start, answering "how many gaps lie within
+     * {@code [from, to]}" in O(log² n).
+     */
+    private static final class GapTree {
+
+        private final long[] starts;
+        private final long[][] sortedEnds;
+
+        GapTree(List<long[]> gaps) {
+            List<long[]> sorted = new ArrayList<>(gaps);
+            sorted.sort((a, b) -> Long.compare(a[0], b[0]));
+            this.starts = sorted.stream().mapToLong(gap -> gap[0]).toArray();
+            int size = Math.max(Integer.highestOneBit(Math.max(starts.length, 1) - 1) << 1, 1);
+            this.sortedEnds = new long[2 * size][];
+            for (int i = 0; i < size; i++) {
+                sortedEnds[size + i] = i < sorted.size() ? new long[]{sorted.get(i)[1]} : new long[0];
+            }
+            for (int node = size - 1; node > 0; node--) {
+                sortedEnds[node] = merge(sortedEnds[2 * node], sortedEnds[2 * node + 1]);
+            }
+        }
+
+        int countWithin(long from, long to) {
+            int size = sortedEnds.length / 2;
+            int count = 0;
+            // Gaps with start >= from form a suffix of the start-sorted array; count those ending by 'to'.
+            int low = size + starts.length - countAtLeast(starts, from);
+            int high = size + starts.length;
+            while (low < high) {
+                if ((low & 1) == 1) {
+                    count += countAtMost(sortedEnds[low++], to);
+                }
+                if ((high & 1) == 1) {
+                    count += countAtMost(sortedEnds[--high], to);
+                }
+                low >>= 1;
+                high >>= 1;
+            }
+            return count;
+        }
+
+        private static int countAtLeast(long[] sorted, long value) {
+            return sorted.length - countAtMost(sorted, value - 1);
+        }
+
+        private static long[] merge(long[] left, long[] right) {
+            long[] result = new long[left.length + right.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < left.length && j < right.length) {
+                result[k++] = left[i] <= right[j] ? left[i++] : right[j++];
+            }
+            while (i < left.length) {
+                result[k++] = left[i++];
+            }
+            while (j < right.length) {
+                result[k++] = right[j++];
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.aristolab.era;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader for the bundled JSON resources.
+ * <p>
+ * Uses only the Jackson token stream: no data binding, annotation introspection or reflection. This keeps
+ * registry start-up cheap on the JVM and lets native images load the catalogue without reflection
+ * metadata. The accepted format is the one written by {@link EraToolkit#pack}.
+ */
+final class EraJsonReader {
+
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+
+    private EraJsonReader() {
+    }
+
+    static List<EraDefinition> readDefinitions(InputStream input) throws IOException {
+        return readDefinitions(input, null);
+    }
+
+    /**
+     * Reads definitions in resource order; when {@code ordinals} is given, it receives each entry's optional
+     * {@code "ordinal"} property, or {@code -1}.
+     */
+    static List<EraDefinition> readDefinitions(InputStream input, List<Integer> ordinals) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(input)) {
+            expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+            List<EraDefinition> result = new ArrayList<>();
+            int[] ordinal = new int[1];
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                ordinal[0] = -1;
+                result.add(readDefinition(parser, ordinal));
+                if (ordinals != null) {
+                    ordinals.add(ordinal[0]);
+                }
+            }
+            expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+            return result;
+        }
+    }
+
+    /**
+     * Reads an array of objects whose values are all scalars, keeping the values as text.
+     */
+    static List<Map<String, String>> readFlatObjects(InputStream input) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(input)) {
+            expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+            List<Map<String, String>> result = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Map<String, String> values = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    if (parser.nextToken().isScalarValue()) {
+                        values.put(name, parser.getValueAsString());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                result.add(values);
+            }
+            expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+            return result;
+        }
+    }
+
+    private static EraDefinition readDefinition(JsonParser parser, int[] ordinal) throws IOException {
+        String dynasty = null;
+        String emperor = null;
+        String eraName = null;
+        List<String> aliases = null;
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        String notes = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "dynasty" -> dynasty = text(parser, value);
+                case "emperor" -> emperor = text(parser, value);
+                case "eraName" -> eraName = text(parser, value);
+                case "aliases" -> aliases = aliases(parser, value);
+                case "startDate" -> startDate = date(parser, value);
+                case "endDate" -> endDate = date(parser, value);
+                case "notes" -> notes = text(parser, value);
+                case "ordinal" -> {
+                    expect(parser, value, JsonToken.VALUE_NUMBER_INT);
+                    ordinal[0] = parser.getIntValue();
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        try {
+            return new EraDefinition(required(parser, dynasty, "dynasty"), required(parser, emperor, "emperor"),
+                    required(parser, eraName, "eraName"), aliases, required(parser, startDate, "startDate"),
+                    required(parser, endDate, "endDate"), notes);
+        } catch (IllegalArgumentException ex) {
+            throw new JsonParseException(parser, ex.getMessage(), ex);
+        }
+    }
+
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, token, JsonToken.VALUE_STRING);
+        return parser.getText();
+    }
+
+    private static List<String> aliases(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, token, JsonToken.START_ARRAY);
+        List<String> result = new ArrayList<>(2);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            result.add(text(parser, parser.currentToken()));
+        }
+        return result;
+    }
+
+    private static LocalDate date(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.START_ARRAY) {
+            // [year, month, day], as written by the jsr310 module with timestamps enabled.
+            int[] parts = new int[3];
+            for (int i = 0; i < parts.length; i++) {
+                expect(parser, parser.nextToken(), JsonToken.VALUE_NUMBER_INT);
+                parts[i] = parser.getIntValue();
+            }
+            expect(parser, parser.nextToken(), JsonToken.END_ARRAY);
+            try {
+                return LocalDate.of(parts[0], parts[1], parts[2]);
+            } catch (DateTimeException ex) {
+                throw new JsonParseException(parser, ex.getMessage(), ex);
+            }
+        }
+        String text = text(parser, token);
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeException ex) {
+            throw new JsonParseException(parser, "Expected ISO-8601 local date: " + text, ex);
+        }
+    }
+
+    private static <T> T required(JsonParser parser, T value, String name) throws JsonParseException {
+        if (value == null) {
+            throw new JsonParseException(parser, "Missing required property '" + name + "'");
+        }
+        return value;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.aristolab.era;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds era mentions: the longest era alias at the leftmost position, followed by the optional date expression
+ * of {@link EraAnnotator#mentionSuffix()}.
+ * <p>
+ * Equivalent to a regex alternation over all aliases, but a regex engine tries every branch at every position,
+ * which is slow with thousands of aliases. Here a bitset of first characters rejects most positions and a
+ * character trie finds the alias; only the short suffix is matched by a regex. Instances are immutable and can
+ * be shared between threads; each thread scans through its own {@link Cursor}.
+ */
+final class EraMentionMatcher {
+
+    private final long[] firstChars = new long[(Character.MAX_VALUE + 1) / Long.SIZE];
+    private final Node root;
+    private final Pattern suffix;
+
+    private EraMentionMatcher(Collection<String> aliases) {
+        Builder trie = new Builder();
+        for (String alias : aliases) {
+            if (alias.isEmpty()) {
+                continue;
+            }
+            char first = alias.charAt(0);
+            firstChars[first >>> 6] |= 1L << first;
+            Builder node = trie;
+            for (int i = 0; i < alias.length(); i++) {
+                node = node.children.computeIfAbsent(alias.charAt(i), key -> new Builder());
+            }
+            node.alias = alias;
+        }
+        this.root = trie.build();
+        this.suffix = Pattern.compile(EraAnnotator.mentionSuffix());
+    }
+
+    static EraMentionMatcher of(Collection<String> aliases) {
+        return new EraMentionMatcher(aliases);
+    }
+
+    Cursor cursor(CharSequence text) {
+        return new Cursor(text);
+    }
+
+    /**
+     * End of the longest alias starting at {@code start} and ending by {@code limit}, or {@code -1}.
+     */
+    private int aliasEnd(CharSequence text, int start, int limit) {
+        Node node = root;
+        int result = -1;
+        for (int i = start; i < limit; i++) {
+            node = node.child(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.alias != null) {
+                result = i + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every alias occurring anywhere in {@code text}, overlapping occurrences included, in order of first
+     * occurrence.
+     */
+    Set<String> aliasesIn(CharSequence text) {
+        Set<String> result = new LinkedHashSet<>();
+        int length = text.length();
+        for (int start = 0; start < length; start++) {
+            char c = text.charAt(start);
+            if ((firstChars[c >>> 6] & 1L << c) == 0) {
+                continue;
+            }
+            Node node = root;
+            for (int i = start; i < length && (node = node.child(text.charAt(i))) != null; i++) {
+                if (node.alias != null) {
+                    result.add(node.alias);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scanning state over one text, mirroring the parts of {@link Matcher} the scanners use.
+     */
+    final class Cursor {
+
+        private final CharSequence text;
+        private final Matcher suffixMatcher;
+        private int start = -1;
+        private int end = -1;
+
+        private Cursor(CharSequence text) {
+            this.text = text;
+            this.suffixMatcher = suffix.matcher(text);
+        }
+
+        /**
+         * Finds the first mention starting at or after {@code from} and lying entirely before {@code limit}.
+         */
+        boolean find(int from, int limit) {
+            for (int i = from; i < limit; i++) {
+                char c = text.charAt(i);
+                if ((firstChars[c >>> 6] & 1L << c) == 0) {
+                    continue;
+                }
+                int aliasEnd = aliasEnd(text, i, limit);
+                if (aliasEnd >= 0) {
+                    start = i;
+                    // Every suffix part is optional, so lookingAt always succeeds.
+                    end = suffixMatcher.region(aliasEnd, limit).lookingAt() ? suffixMatcher.end() : aliasEnd;
+                    return true;
+                }
+            }
+            start = -1;
+            end = -1;
+            return false;
+        }
+
+        int start() {
+            return start;
+        }
+
+        int end() {
+            return end;
+        }
+
+        String group() {
+            return text.subSequence(start, end).toString();
+        }
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final char[] keys;
+        private final Node[] children;
+        /** The alias ending at this node, or {@code null}. */
+        private final String alias;
+
+        Node(char[] keys, Node[] children, String alias) {
+            this.keys = keys;
+            this.children = children;
+            this.alias = alias;
+        }
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index < 0 ? null : children[index];
+        }
+    }
+
+    private static final class Builder {
+
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private String alias;
+
+        Node build() {
+            if (children.isEmpty()) {
+                return new Node(new char[0], Node.NO_CHILDREN, alias);
+            }
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(keys, nodes, alias);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.aristolab.era;
+
+import java.util.List;
+
+/**
+ * A definition whose notes match a {@link EraRegistry#searchNotes(String, int)} query, with the ascending
+ * offsets of every term occurrence in {@link EraDefinition#notes()}.
+ */
+public record EraNoteMatch(EraDefinition definition, List<Integer> offsets) {
+
+    public EraNoteMatch {
+        offsets = List.copyOf(offsets);
+    }
+}
@@ -0,0 +1,175 @@
+package com.aristolab.era;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index from character bigrams of the lower-cased notes to the definitions containing them.
+ * <p>
+ * Every pair of adjacent UTF-16 units is a key, and so is every single unit, which answers one-character
+ * queries. A posting list holds the ascending positions of the definitions (in start order) as varint-encoded
+ * gaps, typically one byte per entry. A query term intersects the posting lists of its bigrams, rarest first;
+ * the remaining candidates are confirmed with {@link String#indexOf} and their offsets collected, so bigram
+ * false positives never reach the result.
+ */
+final class EraNotesIndex {
+
+    private static final char UNIGRAM = '\uffff';
+    private static final int[] NONE = new int[0];
+
+    private final List<EraDefinition> definitions;
+    private final String[] notes;
+    private final Map<Integer, byte[]> postings;
+
+    EraNotesIndex(List<EraDefinition> definitions) {
+        this.definitions = definitions;
+        this.notes = new String[definitions.size()];
+        Map<Integer, Builder> building = new HashMap<>();
+        for (int i = 0; i < notes.length; i++) {
+            String text = definitions.get(i).notes().toLowerCase(Locale.ROOT);
+            notes[i] = text;
+            for (int j = 0; j < text.length(); j++) {
+                building.computeIfAbsent(key(text.charAt(j), UNIGRAM), k -> new Builder()).add(i);
+                if (j + 1 < text.length()) {
+                    building.computeIfAbsent(key(text.charAt(j), text.charAt(j + 1)), k -> new Builder()).add(i);
+                }
+            }
+        }
+        Map<Integer, byte[]> result = new HashMap<>(building.size() * 2);
+        building.forEach((key, builder) -> result.put(key, builder.bytes.toByteArray()));
+        this.postings = result;
+    }
+
+    /**
+     * Definitions whose notes contain every whitespace-separated term of {@code query}, ignoring case: most
+     * occurrences first, then earliest first occurrence, then start order.
+     */
+    List<EraNoteMatch> search(String query, int limit) {
+        String[] terms = query.strip().toLowerCase(Locale.ROOT).split("\\s+");
+        int[] candidates = null;
+        for (String term : terms) {
+            int[] matches = candidates(term);
+            candidates = candidates == null ? matches : intersect(candidates, matches);
+            if (candidates.length == 0) {
+                return List.of();
+            }
+        }
+        List<EraNoteMatch> result = new ArrayList<>();
+        for (int position : candidates) {
+            List<Integer> offsets = offsets(notes[position], terms);
+            if (!offsets.isEmpty()) {
+                result.add(new EraNoteMatch(definitions.get(position), offsets));
+            }
+        }
+        result.sort(Comparator.comparingInt((EraNoteMatch match) -> -match.offsets().size())
+                .thenComparingInt(match -> match.offsets().getFirst()));
+        return result.size() > limit ? List.copyOf(result.subList(0, limit)) : Collections.unmodifiableList(result);
+    }
+
+    private int[] candidates(String term) {
+        if (term.length() == 1) {
+            return decode(postings.get(key(term.charAt(0), UNIGRAM)));
+        }
+        byte[][] lists = new byte[term.length() - 1][];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(key(term.charAt(i), term.charAt(i + 1)));
+            if (lists[i] == null) {
+                return NONE;
+            }
+        }
+        // Encoded length is a good proxy for list length; starting from the rarest keeps intersections small.
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        int[] result = decode(lists[0]);
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, decode(lists[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Sorted offsets of all occurrences of all terms, or an empty list when some term does not occur.
+     */
+    private static List<Integer> offsets(String text, String[] terms) {
+        List<Integer> result = new ArrayList<>();
+        for (String term : terms) {
+            int from = text.indexOf(term);
+            if (from < 0) {
+                return List.of();
+            }
+            for (; from >= 0; from = text.indexOf(term, from + 1)) {
+                result.add(from);
+            }
+        }
+        Collections.sort(result);
+        return List.copyOf(result);
+    }
+
+    private static int key(char first, char second) {
+        return first << 16 | second;
+    }
+
+    private static int[] decode(byte[] encoded) {
+        if (encoded == null) {
+            return NONE;
+        }
+        int[] result = new int[encoded.length];
+        int count = 0;
+        int value = 0;
+        for (int i = 0; i < encoded.length; ) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = encoded[i++];
+                gap |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += gap;
+            result[count++] = value;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static final class Builder {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4);
+        private int last = -1;
+
+        void add(int position) {
+            if (position == last) {
+                return;
+            }
+            int gap = last < 0 ? position : position - last;
+            last = position;
+            while (gap >= 0x80) {
+                bytes.write(gap & 0x7f | 0x80);
+                gap >>>= 7;
+            }
+            bytes.write(gap);
+        }
+    }
+}
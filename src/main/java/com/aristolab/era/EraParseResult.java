@@ -0,0 +1,117 @@
+package com.aristolab.era;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Outcome of {@link EraConverter#tryParse(String)}: either the parsed {@link EraDate} or an {@link Error} code
+ * with the span of the input it refers to. Building a failure is cheap; no exception is created unless
+ * {@link #orElseThrow()} is called.
+ */
+public final class EraParseResult {
+
+    /**
+     * Reasons why a text could not be parsed.
+     */
+    public enum Error {
+        /** The text is {@code null} or blank. */
+        EMPTY_INPUT,
+        /** No era name of the registry occurs in the text. */
+        ERA_NOT_FOUND,
+        /** No {@code …年} expression follows the era name. */
+        YEAR_NOT_FOUND,
+        /** The year numeral is malformed, out of range or zero. */
+        INVALID_YEAR
+    }
+
+    private final String input;
+    private final EraDate value;
+    private final Error error;
+    private final int errorStart;
+    private final int errorEnd;
+
+    private EraParseResult(String input, EraDate value, Error error, int errorStart, int errorEnd) {
+        this.input = input;
+        this.value = value;
+        this.error = error;
+        this.errorStart = errorStart;
+        this.errorEnd = errorEnd;
+    }
+
+    static EraParseResult success(String input, EraDate value) {
+        return new EraParseResult(input, Objects.requireNonNull(value, "value"), null, -1, -1);
+    }
+
+    static EraParseResult failure(String input, Error error, int start, int end) {
+        return new EraParseResult(input, null, Objects.requireNonNull(error, "error"), start, end);
+    }
+
+    public String input() {
+        return input;
+    }
+
+    public boolean isSuccess() {
+        return value != null;
+    }
+
+    public Optional<EraDate> value() {
+        return Optional.ofNullable(value);
+    }
+
+    public Optional<Error> error() {
+        return Optional.ofNullable(error);
+    }
+
+    /**
+     * Start of the offending span in {@link #input()}, or {@code -1} on success.
+     */
+    public int errorStart() {
+        return errorStart;
+    }
+
+    /**
+     * End (exclusive) of the offending span in {@link #input()}, or {@code -1} on success.
+     */
+    public int errorEnd() {
+        return errorEnd;
+    }
+
+    /**
+     * The parsed date, or the {@link IllegalArgumentException} {@link EraConverter#parse(String)} throws.
+     */
+    public EraDate orElseThrow() {
+        if (value != null) {
+            return value;
+        }
+        throw toException();
+    }
+
+    IllegalArgumentException toException() {
+        String text = input == null ? null : input.strip();
+        return new IllegalArgumentException(switch (error) {
+            case EMPTY_INPUT -> "text";
+            case ERA_NOT_FOUND -> "Unable to locate era information in text: " + text;
+            case YEAR_NOT_FOUND -> "Era year not found in text: " + text;
+            case INVALID_YEAR -> invalidYearMessage(input.substring(errorStart, errorEnd));
+        });
+    }
+
+    /**
+     * The message the numeral parser or {@link EraDate} gives for {@code numeral}, as before {@code tryParse}.
+     */
+    private static String invalidYearMessage(String numeral) {
+        try {
+            ChineseNumberFormatter.parse(numeral);
+            return "Era year must be >= 1";
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? "EraParseResult{" + input + " -> " + value + '}'
+                : "EraParseResult{" + input + " failed: " + error + " at [" + errorStart + ", " + errorEnd + ")}";
+    }
+}
@@ -0,0 +1,177 @@
+package com.aristolab.era;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Compound filter over the definitions of a registry, obtained from {@link EraRegistry#query()}.
+ * <p>
+ * Values given to one criterion are alternatives (OR), different criteria must all hold (AND). Criteria are
+ * evaluated as word-wise operations on per-attribute bitsets shared by the registry; only the eras left
+ * after that are checked individually for exact date ranges, lengths and name text. Results are in start order.
+ * <p>
+ * Queries are mutable and not thread-safe; the underlying index is shared.
+ */
+public final class EraQuery {
+
+    private final EraBitmapIndex index;
+    private final long[] bits;
+    private final long[] scratch;
+    private long from = Long.MIN_VALUE;
+    private long to = Long.MAX_VALUE;
+    private long minLength = 0;
+    private long maxLength = Long.MAX_VALUE;
+    private final List<String> texts = new ArrayList<>();
+
+    EraQuery(EraBitmapIndex index) {
+        this.index = index;
+        this.bits = index.all().clone();
+        this.scratch = new long[index.words()];
+    }
+
+    /**
+     * Eras of any of the given dynasties.
+     */
+    public EraQuery dynasty(String... dynasties) {
+        Objects.requireNonNull(dynasties, "dynasties");
+        clearScratch();
+        for (String dynasty : dynasties) {
+            or(index.dynasty(dynasty));
+        }
+        return andScratch();
+    }
+
+    /**
+     * Eras of any of the given emperors.
+     */
+    public EraQuery emperor(String... emperors) {
+        Objects.requireNonNull(emperors, "emperors");
+        clearScratch();
+        for (String emperor : emperors) {
+            or(index.emperor(emperor));
+        }
+        return andScratch();
+    }
+
+    /**
+     * Eras in force on at least one day of {@code [start, end]}.
+     */
+    public EraQuery overlapping(LocalDate start, LocalDate end) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("end must not be before start: " + start + " > " + end);
+        }
+        from = Math.max(from, start.toEpochDay());
+        to = Math.min(to, end.toEpochDay());
+        clearScratch();
+        index.orBuckets(start.getYear(), end.getYear(), scratch);
+        return andScratch();
+    }
+
+    /**
+     * Eras lasting between {@code minDays} and {@code maxDays} days, both inclusive.
+     */
+    public EraQuery lengthInDays(long minDays, long maxDays) {
+        if (minDays > maxDays) {
+            throw new IllegalArgumentException("minDays must not exceed maxDays: " + minDays + " > " + maxDays);
+        }
+        minLength = Math.max(minLength, minDays);
+        maxLength = Math.min(maxLength, maxDays);
+        return this;
+    }
+
+    public EraQuery hasNotes(boolean hasNotes) {
+        long[] withNotes = index.withNotes();
+        for (int word = 0; word < bits.length; word++) {
+            bits[word] &= hasNotes ? withNotes[word] : ~withNotes[word];
+        }
+        return this;
+    }
+
+    /**
+     * Eras whose display name or one of whose aliases contains {@code text}, ignoring case.
+     */
+    public EraQuery nameContains(String text) {
+        Objects.requireNonNull(text, "text");
+        String normalized = text.strip().toLowerCase(Locale.ROOT);
+        normalized.codePoints().forEach(codePoint -> {
+            long[] candidates = index.character(codePoint);
+            for (int word = 0; word < bits.length; word++) {
+                bits[word] = candidates == null ? 0 : bits[word] & candidates[word];
+            }
+        });
+        texts.add(normalized);
+        return this;
+    }
+
+    public List<EraDefinition> list() {
+        List<EraDefinition> result = new ArrayList<>();
+        List<EraDefinition> definitions = index.definitions();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int position = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                if (matches(position)) {
+                    result.add(definitions.get(position));
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public int count() {
+        int count = 0;
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int position = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                if (matches(position)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean matches(int position) {
+        long start = index.startDay(position);
+        long end = index.endDay(position);
+        long length = end - start + 1;
+        if (start > to || end < from || length < minLength || length > maxLength) {
+            return false;
+        }
+        for (String text : texts) {
+            if (!index.names(position).contains(text)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clearScratch() {
+        Arrays.fill(scratch, 0);
+    }
+
+    private void or(long[] values) {
+        if (values != null) {
+            for (int word = 0; word < scratch.length; word++) {
+                scratch[word] |= values[word];
+            }
+        }
+    }
+
+    private EraQuery andScratch() {
+        for (int word = 0; word < bits.length; word++) {
+            bits[word] &= scratch[word];
+        }
+        return this;
+    }
+}
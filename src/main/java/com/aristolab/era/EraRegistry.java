@@ -1,86 +1,227 @@
 package com.aristolab.era;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Central registry maintaining {@link EraDefinition} instances.
+ * <p>
+ * A registry is either self-contained or a {@linkplain #layered layer} over a shared base registry. Layers
+ * only hold and index their own additions and the set of base definitions they hide; lookups consult the
+ * layer and then delegate to the base, so many layers can share one base without copying it.
  */
 public final class EraRegistry {
 
-    private static final String DEFAULT_RESOURCE = "/era/era-definitions.json";
-    private static final ObjectMapper MAPPER = JacksonSupport.mapper();
-
     private final List<EraDefinition> definitions;
+    private final EraRegistry base;
+    private final Set<EraDefinition> removed;
+    private final Map<String, List<EraDefinition>> overlayAliases;
+    private final DayLookup dayLookup;
+    private volatile EraIndex index;
+    /** Layer state, {@code null} for self-contained registries. */
+    private final Lazy<List<EraDefinition>> merged;
+    private final Lazy<EraIntervalIndex> overlayIntervals;
+    private final Lazy<EraMentionMatcher> overlayMatcher;
 
     private EraRegistry(List<EraDefinition> definitions) {
         this.definitions = Collections.unmodifiableList(new ArrayList<>(definitions));
+        this.base = null;
+        this.removed = Set.of();
+        this.overlayAliases = Map.of();
+        this.dayLookup = DayLookup.SEGMENTS;
+        this.merged = null;
+        this.overlayIntervals = null;
+        this.overlayMatcher = null;
     }
 
-    public static EraRegistry defaultRegistry() {
-        try (InputStream input = EraRegistry.class.getResourceAsStream(DEFAULT_RESOURCE)) {
-            if (input == null) {
-                throw new IllegalStateException("Missing resource: " + DEFAULT_RESOURCE);
+    private EraRegistry(List<EraDefinition> definitions, EraIndex index, DayLookup dayLookup) {
+        this.definitions = Collections.unmodifiableList(new ArrayList<>(definitions));
+        this.base = null;
+        this.removed = Set.of();
+        this.overlayAliases = Map.of();
+        this.dayLookup = dayLookup;
+        this.index = index;
+        this.merged = null;
+        this.overlayIntervals = null;
+        this.overlayMatcher = null;
+    }
+
+    private EraRegistry(EraRegistry source, DayLookup dayLookup) {
+        this.definitions = source.definitions;
+        this.base = source.base;
+        this.removed = source.removed;
+        this.overlayAliases = source.overlayAliases;
+        this.dayLookup = dayLookup;
+        this.merged = source.merged;
+        // A layer's merged index is only needed for name and range queries, so it is not forced here.
+        this.index = source.base == null ? source.index() : source.index;
+        this.overlayIntervals = source.overlayIntervals;
+        this.overlayMatcher = source.overlayMatcher;
+    }
+
+    private EraRegistry(EraRegistry base, List<EraDefinition> additions, Set<EraDefinition> removed) {
+        this.definitions = Collections.unmodifiableList(new ArrayList<>(additions));
+        this.base = base;
+        this.removed = Set.copyOf(removed);
+        this.dayLookup = base.dayLookup;
+        Map<String, List<EraDefinition>> aliases = new HashMap<>();
+        for (EraDefinition definition : definitions) {
+            for (String alias : definition.aliases()) {
+                List<EraDefinition> matches = aliases.computeIfAbsent(EraIndex.normalize(alias), key -> new ArrayList<>(1));
+                if (!matches.contains(definition)) {
+                    matches.add(definition);
+                }
             }
-            List<EraDefinition> data = MAPPER.readValue(input, new TypeReference<List<EraDefinition>>() {});
-            data.sort(Comparator.comparing(EraDefinition::startDate));
-            return new EraRegistry(data);
-        } catch (IOException ex) {
-            throw new IllegalStateException("Unable to load default era definitions", ex);
         }
+        this.overlayAliases = aliases;
+        this.merged = new Lazy<>(() -> merge(base.definitions(), definitions));
+        this.overlayIntervals = new Lazy<>(() -> new EraIntervalIndex(definitions.stream().distinct().toList()));
+        this.overlayMatcher = new Lazy<>(() ->
+                EraMentionMatcher.of(definitions.stream().flatMap(def -> def.aliases().stream()).toList()));
+    }
+
+    /**
+     * The bundled catalogue, built on first use and shared afterwards; see {@link DefaultRegistry}. The data
+     * ships as one resource per dynasty; use {@link ShardedEraRegistry} to load only the dynasties a workload
+     * needs.
+     */
+    public static EraRegistry defaultRegistry() {
+        return DefaultRegistry.INSTANCE;
     }
 
     public static EraRegistry fromResource(String resourcePath) {
+        List<EraDefinition> data = new ArrayList<>(readResource(resourcePath));
+        data.sort(Comparator.comparing(EraDefinition::startDate));
+        return new EraRegistry(data);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static EraRegistry of(List<EraDefinition> definitions) {
+        Objects.requireNonNull(definitions, "definitions");
+        List<EraDefinition> copy = new ArrayList<>(definitions);
+        copy.sort(Comparator.comparing(EraDefinition::startDate));
+        return new EraRegistry(copy);
+    }
+
+    static List<EraDefinition> readResource(String resourcePath) {
         Objects.requireNonNull(resourcePath, "resourcePath");
         try (InputStream input = EraRegistry.class.getResourceAsStream(resourcePath)) {
             if (input == null) {
                 throw new IllegalArgumentException("Resource not found: " + resourcePath);
             }
-            List<EraDefinition> data = MAPPER.readValue(input, new TypeReference<List<EraDefinition>>() {});
-            data.sort(Comparator.comparing(EraDefinition::startDate));
-            return new EraRegistry(data);
+            return EraJsonReader.readDefinitions(input);
         } catch (IOException ex) {
             throw new IllegalArgumentException("Unable to load era definitions from resource", ex);
         }
     }
 
-    public static EraRegistry of(List<EraDefinition> definitions) {
-        Objects.requireNonNull(definitions, "definitions");
-        List<EraDefinition> copy = new ArrayList<>(definitions);
+    /**
+     * Creates a registry layered over {@code base}: {@code removals} hide existing base definitions and
+     * {@code additions} are added on top. Overriding a definition is expressed as removing the base entry
+     * and adding its replacement. The base is shared, not copied.
+     */
+    public static EraRegistry layered(EraRegistry base, Collection<EraDefinition> additions,
+                                      Collection<EraDefinition> removals) {
+        Objects.requireNonNull(base, "base");
+        Objects.requireNonNull(additions, "additions");
+        Objects.requireNonNull(removals, "removals");
+        Set<EraDefinition> hidden = new HashSet<>(removals);
+        for (EraDefinition removal : hidden) {
+            if (!base.definitionsByAlias(removal.eraName()).contains(removal)) {
+                throw new IllegalArgumentException("Definition is not part of the base registry: " + removal);
+            }
+        }
+        List<EraDefinition> copy = new ArrayList<>(additions);
         copy.sort(Comparator.comparing(EraDefinition::startDate));
-        return new EraRegistry(copy);
+        return new EraRegistry(base, copy, hidden);
+    }
+
+    /**
+     * This registry with date lookups served by {@code dayLookup}. Definitions and indexes are shared.
+     */
+    public EraRegistry withDayLookup(DayLookup dayLookup) {
+        Objects.requireNonNull(dayLookup, "dayLookup");
+        return dayLookup == this.dayLookup ? this : new EraRegistry(this, dayLookup);
+    }
+
+    public DayLookup dayLookup() {
+        return dayLookup;
+    }
+
+    /**
+     * Eagerly builds the indexes otherwise built on first use (alias trie, query bitsets, notes index and, in
+     * {@link DayLookup#DENSE} mode, the day table), so that the first requests do not pay for them.
+     * {@link EraToolkit#warmUp()} additionally exercises the conversion code paths.
+     */
+    public EraRegistry warmUp() {
+        warmUp(dayLookup);
+        return this;
+    }
+
+    private void warmUp(DayLookup lookup) {
+        if (base != null) {
+            base.warmUp(lookup);
+            overlayIntervals.get();
+        }
+        EraIndex built = index();
+        built.warmUp();
+        if (base == null && lookup == DayLookup.DENSE) {
+            built.intervals().dayTable();
+        }
     }
 
     public List<EraDefinition> definitions() {
-        return definitions;
+        if (base == null) {
+            return definitions;
+        }
+        return merged.get();
     }
 
     public Optional<EraDefinition> findByName(String name) {
         if (name == null || name.isBlank()) {
             return Optional.empty();
         }
-        String normalized = name.strip().toLowerCase(Locale.ROOT);
-        return definitions.stream()
-                .filter(def -> def.aliases().stream()
-                        .map(alias -> alias.toLowerCase(Locale.ROOT))
-                        .anyMatch(normalized::equals))
-                .findFirst();
+        List<EraDefinition> matches = definitionsByAlias(name);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.getFirst());
     }
 
     public Optional<EraDefinition> findByDate(LocalDate date) {
-        return definitions.stream().filter(def -> def.contains(date)).findFirst();
+        Objects.requireNonNull(date, "date");
+        return findByEpochDay(date.toEpochDay());
+    }
+
+    public Optional<EraDefinition> findByDate(JulianDate date) {
+        Objects.requireNonNull(date, "date");
+        return findByEpochDay(date.toEpochDay());
+    }
+
+    public Optional<EraDefinition> findByJulianDay(long julianDay) {
+        return findByEpochDay(julianDay - JulianDate.EPOCH_JULIAN_DAY);
+    }
+
+    private Optional<EraDefinition> findByEpochDay(long epochDay) {
+        List<EraDefinition> matches = definitionsAt(epochDay);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.getFirst());
     }
 
     public List<EraDefinition> search(String query) {
@@ -88,10 +229,320 @@ public final class EraRegistry {
             return List.of();
         }
         String normalized = query.strip().toLowerCase(Locale.ROOT);
-        return definitions.stream()
-                .filter(def -> def.displayName().toLowerCase(Locale.ROOT).contains(normalized)
-                        || def.aliases().stream().map(alias -> alias.toLowerCase(Locale.ROOT)).anyMatch(normalized::contains)
-                        || def.emperor().toLowerCase(Locale.ROOT).contains(normalized))
+        List<EraDefinition> own = definitions.stream()
+                .filter(def -> matchesQuery(def, normalized))
                 .collect(Collectors.toUnmodifiableList());
+        return base == null ? own : merge(base.search(query), own);
+    }
+
+    /**
+     * Definitions whose notes contain every whitespace-separated term of {@code query}, ignoring case, ranked
+     * by number of occurrences. At most {@code limit} matches are returned; {@code limit <= 0} means no limit.
+     */
+    public List<EraNoteMatch> searchNotes(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return index().notes().search(query, limit <= 0 ? Integer.MAX_VALUE : limit);
+    }
+
+    /**
+     * Starts a compound filter over the definitions of this registry.
+     */
+    public EraQuery query() {
+        return new EraQuery(index().bitmaps());
+    }
+
+    /**
+     * Dynasty predecessors and successors, reigns and concurrent eras, navigable by era id.
+     */
+    public EraSuccession succession() {
+        return index().succession();
+    }
+
+    /**
+     * All definitions answering to the given alias, in start order.
+     */
+    List<EraDefinition> definitionsByAlias(String name) {
+        if (base == null) {
+            return index().byAliasAll(name);
+        }
+        return merge(base.definitionsByAlias(name),
+                overlayAliases.getOrDefault(EraIndex.normalize(name), List.of()));
+    }
+
+    /**
+     * Aliases of this registry's definitions occurring in {@code text}. Layers combine the base's answer with
+     * a matcher over their own aliases, so the merged index is not built for parsing; aliases of hidden
+     * definitions drop out in {@link #definitionsByAlias(String)}.
+     */
+    Set<String> aliasesIn(String text) {
+        if (base == null) {
+            EraMentionMatcher matcher = index().mentionMatcher();
+            return matcher == null ? Set.of() : matcher.aliasesIn(text);
+        }
+        Set<String> result = new LinkedHashSet<>(base.aliasesIn(text));
+        result.addAll(overlayMatcher.get().aliasesIn(text));
+        return result;
+    }
+
+    /**
+     * Whether the index over all definitions has been built; layers only build it for name and range queries.
+     */
+    boolean hasIndex() {
+        return index != null;
+    }
+
+    /**
+     * Splits {@code [start, end]} into the segments over which the set of eras in force is constant. Days
+     * not covered by any era are left out.
+     */
+    public List<EraSegment> segments(LocalDate start, LocalDate end) {
+        checkRange(start, end);
+        return index().intervals().segments(start, end);
+    }
+
+    /**
+     * Number of distinct eras in force on at least one day of {@code [start, end]}.
+     */
+    public int eraCount(LocalDate start, LocalDate end) {
+        checkRange(start, end);
+        return index().intervals().eraCount(start, end);
+    }
+
+    /**
+     * Number of distinct dynasties with an era in force on at least one day of {@code [start, end]}.
+     */
+    public int dynastyCount(LocalDate start, LocalDate end) {
+        checkRange(start, end);
+        return index().intervals().dynastyCount(start, end);
+    }
+
+    /**
+     * All definitions covering the given date, in start order.
+     */
+    List<EraDefinition> definitionsAt(LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        return definitionsAt(date.toEpochDay());
+    }
+
+    List<EraDefinition> definitionsAt(long epochDay) {
+        return definitionsAt(epochDay, dayLookup);
+    }
+
+    /**
+     * Layers answer from the base, minus hidden definitions, merged with an interval index over their own
+     * definitions only; the merged index is not built for date lookups.
+     */
+    private List<EraDefinition> definitionsAt(long epochDay, DayLookup lookup) {
+        if (base == null) {
+            EraIntervalIndex intervals = index().intervals();
+            EraDayTable days = lookup == DayLookup.DENSE ? intervals.dayTable() : null;
+            return days != null ? days.at(epochDay) : intervals.at(epochDay);
+        }
+        return merge(base.definitionsAt(epochDay, lookup), overlayIntervals.get().at(epochDay));
+    }
+
+    private static void checkRange(LocalDate start, LocalDate end) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("end must not be before start");
+        }
+    }
+
+    private static boolean matchesQuery(EraDefinition def, String normalized) {
+        return def.displayName().toLowerCase(Locale.ROOT).contains(normalized)
+                || def.aliases().stream().map(alias -> alias.toLowerCase(Locale.ROOT)).anyMatch(normalized::contains)
+                || def.emperor().toLowerCase(Locale.ROOT).contains(normalized);
+    }
+
+    /**
+     * Merges base results, minus the definitions hidden by this layer, with this layer's own results while
+     * keeping start order. Base entries come first on equal start dates.
+     */
+    private List<EraDefinition> merge(List<EraDefinition> fromBase, List<EraDefinition> own) {
+        if (own.isEmpty() && removed.isEmpty()) {
+            return fromBase;
+        }
+        List<EraDefinition> result = new ArrayList<>(fromBase.size() + own.size());
+        int next = 0;
+        for (EraDefinition definition : fromBase) {
+            if (removed.contains(definition)) {
+                continue;
+            }
+            while (next < own.size() && own.get(next).startDate().isBefore(definition.startDate())) {
+                result.add(own.get(next++));
+            }
+            result.add(definition);
+        }
+        while (next < own.size()) {
+            result.add(own.get(next++));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    EraIndex index() {
+        EraIndex result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = new EraIndex(definitions());
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * How {@link #findByDate(LocalDate)} and the reverse conversions of {@link EraConverter} find the eras in
+     * force on a day.
+     */
+    public enum DayLookup {
+        /**
+         * Binary search over the run-length encoded era segments; a few kilobytes for the bundled catalogue.
+         */
+        SEGMENTS,
+        /**
+         * One era-set id per day, built on first use: O(1) lookups for about two bytes per day covered
+         * (roughly 1.5 MB for the bundled catalogue). Catalogues spanning more than about 11,500 years keep
+         * using the segments.
+         */
+        DENSE
+    }
+
+    /**
+     * Lazy holder for {@link #defaultRegistry()}. Its initializer only reads bundled resources, so a native
+     * image can run it at build time and start with the catalogue already in the image heap:
+     * {@code --initialize-at-build-time=com.aristolab.era.EraRegistry$DefaultRegistry}.
+     */
+    private static final class DefaultRegistry {
+
+        private static final EraRegistry INSTANCE = ShardedEraRegistry.defaultShards().all();
+    }
+
+    /**
+     * Collects definitions and turns them into a registry, validating the data on the way.
+     * <p>
+     * Validation and index construction share a single sweep over the start-ordered definitions: per
+     * dynasty the sweep compares each era with the latest-ending earlier era of that dynasty (overlaps and
+     * gaps), checks aliases for reuse within the dynasty, and tracks the eras in force to find the peak
+     * concurrency. Apart from the initial sort the pass is linear, so the whole catalogue validates in a few
+     * milliseconds. Calling {@link #validate()} and then {@link #build()} runs the pass only once.
+     */
+    public static final class Builder {
+
+        private final List<EraDefinition> definitions = new ArrayList<>();
+        private DayLookup dayLookup = DayLookup.SEGMENTS;
+        private Analysis analysis;
+
+        private Builder() {
+        }
+
+        public Builder add(EraDefinition definition) {
+            definitions.add(Objects.requireNonNull(definition, "definition"));
+            analysis = null;
+            return this;
+        }
+
+        public Builder addAll(Collection<EraDefinition> definitions) {
+            Objects.requireNonNull(definitions, "definitions");
+            definitions.forEach(this::add);
+            return this;
+        }
+
+        public Builder addResource(String resourcePath) {
+            return addAll(readResource(resourcePath));
+        }
+
+        public Builder dayLookup(DayLookup dayLookup) {
+            this.dayLookup = Objects.requireNonNull(dayLookup, "dayLookup");
+            return this;
+        }
+
+        public EraValidationReport validate() {
+            return analyze().report();
+        }
+
+        public EraRegistry build() {
+            Analysis result = analyze();
+            return new EraRegistry(result.definitions(), result.index(), dayLookup);
+        }
+
+        private Analysis analyze() {
+            if (analysis != null) {
+                return analysis;
+            }
+            List<EraDefinition> sorted = new ArrayList<>(definitions);
+            sorted.sort(Comparator.comparing(EraDefinition::startDate));
+            EraIndex.Builder index = new EraIndex.Builder();
+            List<EraValidationReport.Issue> issues = new ArrayList<>();
+            Set<EraDefinition> seen = new HashSet<>();
+            Map<String, EraDefinition> latestByDynasty = new HashMap<>();
+            Map<String, EraDefinition> aliasOwners = new HashMap<>();
+            PriorityQueue<LocalDate> activeEnds = new PriorityQueue<>();
+            int peak = 0;
+            LocalDate peakDate = null;
+            for (EraDefinition definition : sorted) {
+                index.add(definition);
+                if (!seen.add(definition)) {
+                    issues.add(new EraValidationReport.Issue(EraValidationReport.IssueType.DUPLICATE_DEFINITION,
+                            definition, null, "Duplicate definition " + definition.displayName()));
+                    continue;
+                }
+                while (!activeEnds.isEmpty() && activeEnds.peek().isBefore(definition.startDate())) {
+                    activeEnds.poll();
+                }
+                activeEnds.add(definition.endDate());
+                if (activeEnds.size() > peak) {
+                    peak = activeEnds.size();
+                    peakDate = definition.startDate();
+                }
+                checkSuccession(definition, latestByDynasty, issues);
+                checkAliases(definition, aliasOwners, issues);
+            }
+            EraValidationReport report = new EraValidationReport(sorted.size(), issues, peak, peakDate);
+            analysis = new Analysis(Collections.unmodifiableList(sorted), index.build(), report);
+            return analysis;
+        }
+
+        private static void checkSuccession(EraDefinition definition, Map<String, EraDefinition> latestByDynasty,
+                                            List<EraValidationReport.Issue> issues) {
+            EraDefinition previous = latestByDynasty.get(definition.dynasty());
+            if (previous == null || previous.endDate().isBefore(definition.endDate())) {
+                latestByDynasty.put(definition.dynasty(), definition);
+            }
+            if (previous == null) {
+                return;
+            }
+            long distance = definition.startDate().toEpochDay() - previous.endDate().toEpochDay();
+            if (distance <= 0) {
+                issues.add(new EraValidationReport.Issue(EraValidationReport.IssueType.OVERLAP, definition, previous,
+                        definition.displayName() + " overlaps " + previous.displayName() + " by "
+                                + (1 - distance) + " day(s)"));
+            } else if (distance > 1) {
+                issues.add(new EraValidationReport.Issue(EraValidationReport.IssueType.GAP, definition, previous,
+                        (distance - 1) + " day(s) between " + previous.displayName() + " and "
+                                + definition.displayName()));
+            }
+        }
+
+        private static void checkAliases(EraDefinition definition, Map<String, EraDefinition> aliasOwners,
+                                         List<EraValidationReport.Issue> issues) {
+            for (String alias : definition.aliases()) {
+                String key = definition.dynasty() + '\u0000' + EraIndex.normalize(alias);
+                EraDefinition owner = aliasOwners.putIfAbsent(key, definition);
+                if (owner != null && owner != definition) {
+                    issues.add(new EraValidationReport.Issue(EraValidationReport.IssueType.DUPLICATE_ALIAS,
+                            definition, owner, "Alias " + alias + " of " + definition.displayName()
+                                    + " is already used by " + owner.displayName()));
+                }
+            }
+        }
+    }
+
+    private record Analysis(List<EraDefinition> definitions, EraIndex index, EraValidationReport report) {
     }
 }
@@ -0,0 +1,53 @@
+package com.aristolab.era;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A stretch of days, with inclusive start/end dates, during which the same set of eras is in force.
+ */
+public final class EraSegment {
+
+    private final LocalDate start;
+    private final LocalDate end;
+    private final List<EraDefinition> eras;
+
+    EraSegment(LocalDate start, LocalDate end, List<EraDefinition> eras) {
+        this.start = Objects.requireNonNull(start, "start");
+        this.end = Objects.requireNonNull(end, "end");
+        this.eras = List.copyOf(eras);
+    }
+
+    public LocalDate start() {
+        return start;
+    }
+
+    public LocalDate end() {
+        return end;
+    }
+
+    /**
+     * Eras in force throughout the segment, in start order.
+     */
+    public List<EraDefinition> eras() {
+        return eras;
+    }
+
+    public Set<String> dynasties() {
+        Set<String> result = new LinkedHashSet<>();
+        eras.forEach(def -> result.add(def.dynasty()));
+        return result;
+    }
+
+    public long lengthInDays() {
+        return end.toEpochDay() - start.toEpochDay() + 1;
+    }
+
+    @Override
+    public String toString() {
+        return eras.stream().map(EraDefinition::displayName).toList() + "(" + start + "-" + end + ")";
+    }
+}
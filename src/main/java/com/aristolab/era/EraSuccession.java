@@ -0,0 +1,181 @@
+package com.aristolab.era;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed navigation between the eras of a registry, addressed by era id: the position of a definition
+ * in the registry's start-ordered list (see {@link #idOf(EraDefinition)}).
+ * <p>
+ * Predecessor and successor follow start order within a dynasty; a reign groups the eras of one emperor of
+ * one dynasty; concurrent eras are those of other dynasties sharing at least one day. All of it is filled in
+ * while the registry index is built, so every method here is an array or map read.
+ */
+public final class EraSuccession {
+
+    private final List<EraDefinition> definitions;
+    private final Map<EraDefinition, Integer> ids;
+    private final int[] previous;
+    private final int[] next;
+    private final List<EraDefinition>[] reigns;
+    private final List<EraDefinition>[] concurrent;
+
+    private EraSuccession(Builder builder, List<EraDefinition> definitions, Map<EraDefinition, Integer> ids) {
+        int size = definitions.size();
+        this.definitions = definitions;
+        this.ids = ids;
+        this.previous = Arrays.copyOf(builder.previous, size);
+        this.next = Arrays.copyOf(builder.next, size);
+        this.reigns = newLists(size);
+        this.concurrent = newLists(size);
+        Map<String, List<EraDefinition>> reignLists = new HashMap<>();
+        builder.reigns.forEach((key, members) -> reignLists.put(key,
+                members.stream().map(definitions::get).toList()));
+        for (int id = 0; id < size; id++) {
+            String key = builder.reignKeys.get(id);
+            if (key == null) {
+                // A duplicate answers like the earlier occurrence, which has a lower id and is filled in already.
+                int original = ids.get(definitions.get(id));
+                previous[id] = previous[original];
+                next[id] = next[original];
+                reigns[id] = reigns[original];
+                concurrent[id] = concurrent[original];
+                continue;
+            }
+            reigns[id] = reignLists.get(key);
+            List<Integer> links = builder.concurrent.get(id);
+            concurrent[id] = links.isEmpty() ? List.of() : links.stream().map(definitions::get).toList();
+        }
+    }
+
+    /**
+     * Id of {@code definition}, or {@code -1} when it is not part of the registry.
+     */
+    public int idOf(EraDefinition definition) {
+        Integer id = ids.get(definition);
+        return id == null ? -1 : id;
+    }
+
+    public EraDefinition definition(int id) {
+        return definitions.get(checkId(id));
+    }
+
+    public int size() {
+        return definitions.size();
+    }
+
+    /**
+     * Id of the era of the same dynasty starting just before, or {@code -1}.
+     */
+    public int previous(int id) {
+        return previous[checkId(id)];
+    }
+
+    /**
+     * Id of the era of the same dynasty starting just after, or {@code -1}.
+     */
+    public int next(int id) {
+        return next[checkId(id)];
+    }
+
+    /**
+     * Eras of other dynasties in force on at least one day of this era, in start order.
+     */
+    public List<EraDefinition> concurrent(int id) {
+        return concurrent[checkId(id)];
+    }
+
+    /**
+     * All eras of the same emperor and dynasty, in start order.
+     */
+    public List<EraDefinition> reign(int id) {
+        return reigns[checkId(id)];
+    }
+
+    public LocalDate reignStart(int id) {
+        return reign(id).getFirst().startDate();
+    }
+
+    public LocalDate reignEnd(int id) {
+        LocalDate end = null;
+        for (EraDefinition definition : reign(id)) {
+            if (end == null || definition.endDate().isAfter(end)) {
+                end = definition.endDate();
+            }
+        }
+        return end;
+    }
+
+    private int checkId(int id) {
+        if (id < 0 || id >= definitions.size()) {
+            throw new IllegalArgumentException("Unknown era id: " + id);
+        }
+        return id;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<EraDefinition>[] newLists(int size) {
+        return new List[size];
+    }
+
+    /**
+     * Collects the graph as {@link EraIndex.Builder} adds definitions in start order.
+     */
+    static final class Builder {
+
+        private int[] previous = new int[16];
+        private int[] next = new int[16];
+        private final Map<String, Integer> lastByDynasty = new HashMap<>();
+        private final Map<String, List<Integer>> reigns = new HashMap<>();
+        private final List<String> reignKeys = new ArrayList<>();
+        private final List<List<Integer>> concurrent = new ArrayList<>();
+        /** Ids of the eras that have not ended before the latest start, with their end days. */
+        private final List<long[]> active = new ArrayList<>();
+        private final List<EraDefinition> added = new ArrayList<>();
+
+        /**
+         * Records {@code definition} under {@code id}; duplicates of an earlier definition get its links when built.
+         */
+        void add(EraDefinition definition, int id, boolean duplicate) {
+            if (id >= previous.length) {
+                previous = Arrays.copyOf(previous, Math.max(id + 1, previous.length * 2));
+                next = Arrays.copyOf(next, previous.length);
+            }
+            previous[id] = -1;
+            next[id] = -1;
+            added.add(definition);
+            concurrent.add(new ArrayList<>(0));
+            if (duplicate) {
+                reignKeys.add(null);
+                return;
+            }
+            Integer last = lastByDynasty.put(definition.dynasty(), id);
+            if (last != null) {
+                previous[id] = last;
+                next[last] = id;
+            }
+            String reign = definition.dynasty() + '\u0000' + definition.emperor();
+            reigns.computeIfAbsent(reign, key -> new ArrayList<>()).add(id);
+            reignKeys.add(reign);
+
+            long start = definition.startDate().toEpochDay();
+            active.removeIf(entry -> entry[1] < start);
+            for (long[] entry : active) {
+                int other = (int) entry[0];
+                if (!added.get(other).dynasty().equals(definition.dynasty())) {
+                    concurrent.get(other).add(id);
+                    concurrent.get(id).add(other);
+                }
+            }
+            active.add(new long[]{id, definition.endDate().toEpochDay()});
+        }
+
+        EraSuccession build(List<EraDefinition> definitions, Map<EraDefinition, Integer> ids) {
+            return new EraSuccession(this, definitions, ids);
+        }
+    }
+}
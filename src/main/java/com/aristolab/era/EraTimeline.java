@@ -0,0 +1,251 @@
+package com.aristolab.era;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy timeline generators over era definitions.
+ * <p>
+ * Each definition contributes one point per era year, lunar month or day, and definitions are walked in
+ * the order given. Points are computed on demand from the definition bounds and the bundled lunar month
+ * table, so nothing is materialized up front and the underlying spliterators split evenly by position for
+ * parallel streams.
+ */
+public final class EraTimeline {
+
+    /**
+     * Step between consecutive timeline points.
+     */
+    public enum Granularity {
+        /** The era start followed by every lunar new year within the era. */
+        YEAR,
+        /** The era start followed by every lunar month start within the era. */
+        LUNAR_MONTH,
+        /** Every day of the era. */
+        DAY
+    }
+
+    /**
+     * A timeline point labelled with the era date it falls on.
+     */
+    public record Entry(long epochDay, EraDate eraDate) {
+
+        public Entry {
+            Objects.requireNonNull(eraDate, "eraDate");
+        }
+
+        public LocalDate date() {
+            return LocalDate.ofEpochDay(epochDay);
+        }
+    }
+
+    private EraTimeline() {
+    }
+
+    public static LongStream epochDays(EraDefinition definition, Granularity granularity) {
+        Objects.requireNonNull(definition, "definition");
+        return epochDays(List.of(definition), granularity);
+    }
+
+    public static LongStream epochDays(List<EraDefinition> definitions, Granularity granularity) {
+        Timeline timeline = new Timeline(definitions, granularity);
+        return StreamSupport.longStream(new EpochDaySpliterator(timeline, 0, timeline.size()), false);
+    }
+
+    public static Stream<Entry> entries(List<EraDefinition> definitions, Granularity granularity) {
+        Timeline timeline = new Timeline(definitions, granularity);
+        return StreamSupport.stream(new EntrySpliterator(timeline, 0, timeline.size()), false);
+    }
+
+    /**
+     * Labels a day of the given era with its lunar era year, month and day.
+     */
+    static EraDate label(EraDefinition definition, long epochDay) {
+        return label(definition, epochDay, LunarCalendarTable.instance().monthIndex(epochDay));
+    }
+
+    /**
+     * Same as {@link #label(EraDefinition, long)} with the lunar month of {@code epochDay} already looked up,
+     * so several eras in force on one day share a single table search.
+     */
+    static EraDate label(EraDefinition definition, long epochDay, int month) {
+        LunarCalendarTable table = LunarCalendarTable.instance();
+        int startMonth = table.monthIndex(definition.startDate().toEpochDay());
+        int year = table.newYearsBetween(startMonth, month) + 1;
+        return new EraDate(definition, year, table.month(month), table.isLeapMonth(month),
+                table.dayOfMonth(epochDay, month));
+    }
+
+    private static final class Timeline {
+        private final EraDefinition[] definitions;
+        private final long[] starts;
+        private final int[] firstMonths;
+        private final long[] offsets;
+        private final Granularity granularity;
+        private final LunarCalendarTable table;
+
+        Timeline(List<EraDefinition> definitions, Granularity granularity) {
+            Objects.requireNonNull(definitions, "definitions");
+            this.granularity = Objects.requireNonNull(granularity, "granularity");
+            this.definitions = definitions.toArray(EraDefinition[]::new);
+            this.starts = new long[this.definitions.length];
+            this.firstMonths = new int[this.definitions.length];
+            this.offsets = new long[this.definitions.length + 1];
+            this.table = LunarCalendarTable.instance();
+            for (int i = 0; i < this.definitions.length; i++) {
+                EraDefinition definition = this.definitions[i];
+                long start = definition.startDate().toEpochDay();
+                long end = definition.endDate().toEpochDay();
+                if (!table.covers(start) || !table.covers(end)) {
+                    throw new IllegalArgumentException("Era outside of lunar table range: " + definition);
+                }
+                int first = table.monthIndex(start);
+                int last = table.monthIndex(end);
+                long count = switch (granularity) {
+                    case YEAR -> table.newYearsBetween(first, last) + 1;
+                    case LUNAR_MONTH -> last - first + 1;
+                    case DAY -> end - start + 1;
+                };
+                starts[i] = start;
+                firstMonths[i] = first;
+                offsets[i + 1] = offsets[i] + count;
+            }
+        }
+
+        long size() {
+            return offsets[offsets.length - 1];
+        }
+
+        int locate(long position) {
+            int index = Arrays.binarySearch(offsets, position);
+            if (index < 0) {
+                return -index - 2;
+            }
+            return Math.min(index, definitions.length - 1);
+        }
+
+        int segmentOf(long position, int hint) {
+            int segment = hint;
+            while (offsets[segment + 1] <= position) {
+                segment++;
+            }
+            return segment;
+        }
+
+        long epochDay(int segment, long position) {
+            long step = position - offsets[segment];
+            if (step == 0) {
+                return starts[segment];
+            }
+            return switch (granularity) {
+                case YEAR -> table.monthStart(table.newYearAfter(firstMonths[segment], (int) step));
+                case LUNAR_MONTH -> table.monthStart(firstMonths[segment] + (int) step);
+                case DAY -> starts[segment] + step;
+            };
+        }
+    }
+
+    private abstract static class TimelineSpliterator<S extends Spliterator<?>> {
+        final Timeline timeline;
+        long position;
+        final long fence;
+        int segment;
+
+        TimelineSpliterator(Timeline timeline, long position, long fence) {
+            this.timeline = timeline;
+            this.position = position;
+            this.fence = fence;
+            this.segment = Math.max(0, timeline.locate(position));
+        }
+
+        abstract S create(long from, long to);
+
+        S split() {
+            long middle = (position + fence) >>> 1;
+            if (middle <= position) {
+                return null;
+            }
+            S prefix = create(position, middle);
+            position = middle;
+            segment = timeline.locate(middle);
+            return prefix;
+        }
+
+        long nextEpochDay() {
+            segment = timeline.segmentOf(position, segment);
+            return timeline.epochDay(segment, position++);
+        }
+
+        public long estimateSize() {
+            return fence - position;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+                    | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+        }
+    }
+
+    private static final class EpochDaySpliterator extends TimelineSpliterator<EpochDaySpliterator>
+            implements Spliterator.OfLong {
+
+        EpochDaySpliterator(Timeline timeline, long position, long fence) {
+            super(timeline, position, fence);
+        }
+
+        @Override
+        EpochDaySpliterator create(long from, long to) {
+            return new EpochDaySpliterator(timeline, from, to);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (position >= fence) {
+                return false;
+            }
+            action.accept(nextEpochDay());
+            return true;
+        }
+
+        @Override
+        public EpochDaySpliterator trySplit() {
+            return split();
+        }
+    }
+
+    private static final class EntrySpliterator extends TimelineSpliterator<EntrySpliterator>
+            implements Spliterator<Entry> {
+
+        EntrySpliterator(Timeline timeline, long position, long fence) {
+            super(timeline, position, fence);
+        }
+
+        @Override
+        EntrySpliterator create(long from, long to) {
+            return new EntrySpliterator(timeline, from, to);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry> action) {
+            if (position >= fence) {
+                return false;
+            }
+            long epochDay = nextEpochDay();
+            action.accept(new Entry(epochDay, label(timeline.definitions[segment], epochDay)));
+            return true;
+        }
+
+        @Override
+        public EntrySpliterator trySplit() {
+            return split();
+        }
+    }
+}
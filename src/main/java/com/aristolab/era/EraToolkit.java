@@ -1,24 +1,27 @@
 package com.aristolab.era;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibm.icu.util.ChineseCalendar;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * Facade that mirrors the rich helper functions offered by the original JavaScript module.
@@ -32,11 +35,13 @@ public final class EraToolkit {
             + "]) ([^" + NEED_SPLIT_CHARS.replace("\\d", "") + "])");
     public static final Pattern PERIOD_PATTERN = Pattern.compile("(\\d{1,4})(?:[年/.-](\\d{1,2})(?:[月/.-](\\d{1,2}))?)?");
     public static final String MINUTE_OFFSET_KEY = "minuteOffset";
-
-    private static final ObjectMapper MAPPER = JacksonSupport.mapper();
+    /** Passes over the warm-up corpus; enough for the hot paths to reach the optimizing compiler. */
+    private static final int WARM_UP_ROUNDS = 6;
 
     private final EraRegistry registry;
     private final EraConverter converter;
+    /** Outcome of the current warm-up attempt; replaced when a warm-up starts after a failed one. */
+    private volatile CompletableFuture<Duration> readiness = new CompletableFuture<>();
 
     public EraToolkit(EraRegistry registry) {
         this.registry = Objects.requireNonNull(registry, "registry");
@@ -51,7 +56,7 @@ public final class EraToolkit {
     public String pack(Collection<EraDefinition> definitions) {
         Objects.requireNonNull(definitions, "definitions");
         try {
-            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(definitions);
+            return JacksonSupport.mapper().writerWithDefaultPrettyPrinter().writeValueAsString(definitions);
         } catch (JsonProcessingException ex) {
             throw new IllegalStateException("Unable to pack era definitions", ex);
         }
@@ -62,13 +67,7 @@ public final class EraToolkit {
     }
 
     public Map<String, List<EraPeriod>> periods() {
-        Map<String, List<EraPeriod>> grouped = new LinkedHashMap<>();
-        for (EraDefinition definition : registry.definitions()) {
-            grouped.computeIfAbsent(definition.dynasty(), key -> new ArrayList<>())
-                    .add(new EraPeriod(definition.displayName(), definition.startDate(), definition.endDate()));
-        }
-        grouped.replaceAll((key, value) -> Collections.unmodifiableList(value));
-        return Collections.unmodifiableMap(grouped);
+        return registry.index().periods();
     }
 
     public List<EraDefinition> getCandidate(String text, int limit) {
@@ -76,40 +75,45 @@ public final class EraToolkit {
     }
 
     public List<LocalDate> dates(String eraName) {
-        Optional<EraDefinition> definition = registry.findByName(eraName);
-        if (definition.isEmpty()) {
-            return List.of();
-        }
-        LocalDate start = definition.get().startDate();
-        LocalDate end = definition.get().endDate();
-        List<LocalDate> result = new ArrayList<>();
-        LocalDate cursor = start;
-        while (!cursor.isAfter(end)) {
-            result.add(cursor);
-            cursor = cursor.plusYears(1);
-        }
-        return Collections.unmodifiableList(result);
+        return registry.findByName(eraName)
+                .map(registry.index()::yearStarts)
+                .orElse(List.of());
+    }
+
+    public LongStream epochDays(String eraName, EraTimeline.Granularity granularity) {
+        return registry.findByName(eraName)
+                .map(definition -> EraTimeline.epochDays(definition, granularity))
+                .orElseGet(LongStream::empty);
+    }
+
+    public LongStream dynastyEpochDays(String dynasty, EraTimeline.Granularity granularity) {
+        return EraTimeline.epochDays(forDynasty(dynasty), granularity);
+    }
+
+    public Stream<EraTimeline.Entry> dynastyTimeline(String dynasty, EraTimeline.Granularity granularity) {
+        return EraTimeline.entries(forDynasty(dynasty), granularity);
+    }
+
+    public Stream<EraTimeline.Entry> timeline(EraTimeline.Granularity granularity) {
+        return EraTimeline.entries(registry.definitions(), granularity);
     }
 
     public Pattern eraListPattern() {
-        Set<String> aliases = registry.definitions().stream()
-                .flatMap(def -> def.aliases().stream())
-                .collect(Collectors.toSet());
-        String joined = aliases.stream()
-                .sorted((a, b) -> Integer.compare(b.length(), a.length()))
-                .map(Pattern::quote)
-                .collect(Collectors.joining("|"));
-        return Pattern.compile(joined);
+        return registry.index().eraListPattern();
+    }
+
+    /**
+     * Incremental annotator over {@code text}; see {@link EraAnnotator}.
+     */
+    public EraAnnotator annotator(CharSequence text) {
+        return EraAnnotator.of(registry, text);
     }
 
     public List<EraDefinition> forDynasty(String dynasty) {
         if (dynasty == null || dynasty.isBlank()) {
             return List.of();
         }
-        String normalized = dynasty.strip();
-        return registry.definitions().stream()
-                .filter(def -> def.dynasty().equals(normalized))
-                .collect(Collectors.toUnmodifiableList());
+        return registry.index().byDynasty(dynasty.strip());
     }
 
     public List<EraDefinition> forMonarch(String monarch) {
@@ -127,22 +131,49 @@ public final class EraToolkit {
     }
 
     public String chineseCalendar(LocalDate date) {
-        Objects.requireNonNull(date, "date");
-        ChineseCalendar calendar = new ChineseCalendar();
-        calendar.setTimeInMillis(date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
-        int lunarYear = calendar.get(ChineseCalendar.EXTENDED_YEAR) - 2637;
-        int lunarMonth = calendar.get(ChineseCalendar.MONTH) + 1;
-        int lunarDay = calendar.get(ChineseCalendar.DAY_OF_MONTH);
-        StringBuilder builder = new StringBuilder();
-        builder.append(ChineseNumberFormatter.format(lunarYear)).append("年");
-        if (calendar.get(ChineseCalendar.IS_LEAP_MONTH) == 1) {
-            builder.append("閏");
+        StringBuilder builder = new StringBuilder(12);
+        try {
+            writeChineseCalendar(date, builder);
+        } catch (IOException ex) {
+            throw new IllegalStateException("StringBuilder does not throw", ex);
         }
-        builder.append(ChineseNumberFormatter.format(lunarMonth)).append("月");
-        builder.append(ChineseNumberFormatter.format(lunarDay)).append("日");
         return builder.toString();
     }
 
+    static void writeChineseCalendar(LocalDate date, Appendable out) throws IOException {
+        Objects.requireNonNull(date, "date");
+        long epochDay = date.toEpochDay();
+        LunarCalendarTable table = LunarCalendarTable.instance();
+        int lunarYear;
+        int lunarMonth;
+        int lunarDay;
+        boolean leapMonth;
+        if (table.covers(epochDay)) {
+            // Lock-free and allocation-free; ICU calendars share synchronized caches across threads.
+            int monthIndex = table.monthIndex(epochDay);
+            lunarYear = table.year(monthIndex);
+            lunarMonth = table.month(monthIndex);
+            lunarDay = table.dayOfMonth(epochDay, monthIndex);
+            leapMonth = table.isLeapMonth(monthIndex);
+        } else {
+            ChineseCalendar calendar = new ChineseCalendar();
+            calendar.setTimeInMillis(date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            lunarYear = calendar.get(ChineseCalendar.EXTENDED_YEAR) - 2637;
+            lunarMonth = calendar.get(ChineseCalendar.MONTH) + 1;
+            lunarDay = calendar.get(ChineseCalendar.DAY_OF_MONTH);
+            leapMonth = calendar.get(ChineseCalendar.IS_LEAP_MONTH) == 1;
+        }
+        ChineseNumberFormatter.appendTo(out, lunarYear);
+        out.append('年');
+        if (leapMonth) {
+            out.append('閏');
+        }
+        ChineseNumberFormatter.appendTo(out, lunarMonth);
+        out.append('月');
+        ChineseNumberFormatter.appendTo(out, lunarDay);
+        out.append('日');
+    }
+
     public String concatName(List<String> parts) {
         StringBuilder builder = new StringBuilder();
         String previous = "";
@@ -173,18 +204,36 @@ public final class EraToolkit {
     }
 
     public List<EraDefinition> dateOfCEYear(int year) {
-        LocalDate january = LocalDate.of(year, 1, 1);
-        LocalDate december = LocalDate.of(year, 12, 31);
-        return registry.definitions().stream()
-                .filter(def -> !def.endDate().isBefore(january) && !def.startDate().isAfter(december))
-                .sorted(compareStart())
-                .collect(Collectors.toUnmodifiableList());
+        return registry.index().byYear(year);
+    }
+
+    /**
+     * Era segments covering the CE years {@code fromYear} to {@code toYear}, both inclusive.
+     */
+    public List<EraSegment> segmentsOfCEYears(int fromYear, int toYear) {
+        return registry.segments(LocalDate.of(fromYear, 1, 1), LocalDate.of(toYear, 12, 31));
     }
 
     public EraDate nodeEra(String text) {
         return converter.parse(text);
     }
 
+    public EraParseResult tryNodeEra(String text) {
+        return converter.tryParse(text);
+    }
+
+    /**
+     * Parses every text without throwing on bad input; results are in input order.
+     */
+    public List<EraParseResult> trySetupNodes(Collection<String> texts) {
+        Objects.requireNonNull(texts, "texts");
+        List<EraParseResult> result = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            result.add(converter.tryParse(text));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
     public List<EraDate> setupNodes(Collection<String> texts) {
         Objects.requireNonNull(texts, "texts");
         List<EraDate> result = new ArrayList<>();
@@ -195,10 +244,24 @@ public final class EraToolkit {
     }
 
     public String toHtml(EraDate date) {
+        StringBuilder builder = new StringBuilder(64);
+        try {
+            writeHtml(date, EraHtmlTemplate.defaults(), builder);
+        } catch (IOException ex) {
+            throw new IllegalStateException("StringBuilder does not throw", ex);
+        }
+        return builder.toString();
+    }
+
+    public void writeHtml(EraDate date, Appendable out) throws IOException {
+        writeHtml(date, EraHtmlTemplate.defaults(), out);
+    }
+
+    public void writeHtml(EraDate date, EraHtmlTemplate template, Appendable out) throws IOException {
         Objects.requireNonNull(date, "date");
-        String base = date.toText();
-        return "<span class=\"era\" data-dynasty=\"" + date.definition().dynasty()
-                + "\" data-era=\"" + date.definition().eraName() + "\">" + base + "</span>";
+        Objects.requireNonNull(template, "template");
+        LocalDate gregorian = template.needsGregorianDate() ? converter.toGregorianDate(date) : null;
+        template.write(date, gregorian, out);
     }
 
     public Optional<String> noteNode(EraDefinition definition) {
@@ -221,4 +284,99 @@ public final class EraToolkit {
     public EraConverter converter() {
         return converter;
     }
+
+    /**
+     * Brings this toolkit to steady-state speed before real traffic arrives: builds the registry's lazy indexes
+     * ({@link EraRegistry#warmUp()}), loads the lunar month table and ICU calendar data, and runs parsing,
+     * reverse and lunar conversions and mention scanning over a synthetic corpus of three dates per era until
+     * the JIT has compiled them. Completes {@link #readiness()} with the elapsed time, or exceptionally.
+     */
+    public Duration warmUp() {
+        CompletableFuture<Duration> attempt = startAttempt();
+        long started = System.nanoTime();
+        try {
+            registry.warmUp();
+            List<String> corpus = warmUpCorpus();
+            String document = String.join("，", corpus);
+            for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+                for (String text : corpus) {
+                    EraParseResult parsed = converter.tryParse(text);
+                    if (parsed.isSuccess()) {
+                        LocalDate date = converter.toGregorianDate(parsed.orElseThrow());
+                        converter.toEra(date);
+                        converter.toLunarEra(date);
+                        if (date.getYear() > 1) {
+                            // Lunar years before 1 CE have no textual form.
+                            chineseCalendar(date);
+                        }
+                    }
+                }
+                EraAnnotator.of(registry, document).mentions();
+                eraListPattern().matcher(document).results().count();
+            }
+            // Outside of the bundled table: loads the ICU calendar data.
+            chineseCalendar(LocalDate.of(LunarCalendarTable.LAST_YEAR + 1, 6, 1));
+        } catch (RuntimeException ex) {
+            attempt.completeExceptionally(ex);
+            throw ex;
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        attempt.complete(elapsed);
+        return elapsed;
+    }
+
+    /**
+     * The readiness future a warm-up starting now completes: the current one, or a new one after a failure.
+     */
+    private synchronized CompletableFuture<Duration> startAttempt() {
+        if (readiness.isCompletedExceptionally()) {
+            readiness = new CompletableFuture<>();
+        }
+        return readiness;
+    }
+
+    /**
+     * Runs {@link #warmUp()} on {@code executor}; the result is the same as {@link #readiness()}.
+     */
+    public CompletableFuture<Duration> warmUpAsync(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        CompletableFuture<Duration> result = startAttempt().copy();
+        executor.execute(() -> {
+            try {
+                warmUp();
+            } catch (RuntimeException ex) {
+                // Not rethrown: the executor would only log it, and the failure already completed the
+                // readiness future returned to the caller.
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Completes once a {@link #warmUp()} has finished, with its elapsed time; suitable for readiness probes.
+     * A success is final; after a failure, the next warm-up resets readiness to pending, so futures obtained
+     * from then on report the retry. Each call returns a new future, so completing it does not affect the
+     * toolkit.
+     */
+    public CompletableFuture<Duration> readiness() {
+        return readiness.copy();
+    }
+
+    /**
+     * Texts of the lunar era dates at the start, middle and end of every era, produced by the reverse
+     * conversion.
+     */
+    private List<String> warmUpCorpus() {
+        List<String> corpus = new ArrayList<>();
+        for (EraDefinition definition : registry.definitions()) {
+            long start = definition.startDate().toEpochDay();
+            long end = definition.endDate().toEpochDay();
+            for (long day : new long[]{start, start + (end - start) / 2, end}) {
+                converter.toLunarEra(LocalDate.ofEpochDay(day))
+                        .filter(date -> date.definition().equals(definition))
+                        .ifPresent(date -> corpus.add(date.toText()));
+            }
+        }
+        return corpus;
+    }
 }
@@ -0,0 +1,99 @@
+package com.aristolab.era;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Result of validating a set of era definitions with {@link EraRegistry.Builder#validate()}.
+ */
+public final class EraValidationReport {
+
+    /**
+     * Kinds of problems detected while validating registry data.
+     */
+    public enum IssueType {
+        /** The same definition appears more than once. */
+        DUPLICATE_DEFINITION(true),
+        /** Two different definitions of one dynasty answer to the same alias. */
+        DUPLICATE_ALIAS(false),
+        /** An era of a dynasty starts before the previous era of that dynasty has ended. */
+        OVERLAP(false),
+        /** An era of a dynasty starts more than one day after the previous era of that dynasty has ended. */
+        GAP(false);
+
+        private final boolean error;
+
+        IssueType(boolean error) {
+            this.error = error;
+        }
+
+        public boolean isError() {
+            return error;
+        }
+    }
+
+    /**
+     * A single finding. {@code related} is the earlier definition the issue was detected against.
+     */
+    public record Issue(IssueType type, EraDefinition definition, EraDefinition related, String message) {
+
+        public Issue {
+            Objects.requireNonNull(type, "type");
+            Objects.requireNonNull(definition, "definition");
+            Objects.requireNonNull(message, "message");
+        }
+
+        public Optional<EraDefinition> relatedDefinition() {
+            return Optional.ofNullable(related);
+        }
+    }
+
+    private final int definitionCount;
+    private final List<Issue> issues;
+    private final int maxConcurrentEras;
+    private final LocalDate peakConcurrencyDate;
+
+    EraValidationReport(int definitionCount, List<Issue> issues, int maxConcurrentEras, LocalDate peakConcurrencyDate) {
+        this.definitionCount = definitionCount;
+        this.issues = List.copyOf(issues);
+        this.maxConcurrentEras = maxConcurrentEras;
+        this.peakConcurrencyDate = peakConcurrencyDate;
+    }
+
+    public int definitionCount() {
+        return definitionCount;
+    }
+
+    public List<Issue> issues() {
+        return issues;
+    }
+
+    public List<Issue> issues(IssueType type) {
+        return issues.stream().filter(issue -> issue.type() == type).toList();
+    }
+
+    public boolean hasErrors() {
+        return issues.stream().anyMatch(issue -> issue.type().isError());
+    }
+
+    /**
+     * Largest number of eras, across all dynasties, in force on a single day.
+     */
+    public int maxConcurrentEras() {
+        return maxConcurrentEras;
+    }
+
+    public Optional<LocalDate> peakConcurrencyDate() {
+        return Optional.ofNullable(peakConcurrencyDate);
+    }
+
+    @Override
+    public String toString() {
+        return "EraValidationReport{definitions=" + definitionCount
+                + ", issues=" + issues.size()
+                + ", errors=" + issues.stream().filter(issue -> issue.type().isError()).count()
+                + ", maxConcurrentEras=" + maxConcurrentEras + '}';
+    }
+}
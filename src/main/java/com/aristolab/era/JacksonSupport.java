@@ -4,9 +4,9 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.json.JsonMapper;
@@ -23,6 +23,7 @@ import java.time.format.DateTimeParseException;
  */
 final class JacksonSupport {
 
+    private static final String JAVA_TIME_MODULE = "com.fasterxml.jackson.datatype.jsr310.JavaTimeModule";
     private static final ObjectMapper MAPPER = createMapper();
 
     private JacksonSupport() {
@@ -32,21 +33,24 @@ final class JacksonSupport {
         return MAPPER;
     }
 
+    /**
+     * Registers modules explicitly rather than through {@code findAndAddModules()}, whose service loader
+     * scan costs start-up time and needs extra metadata in native images. The jsr310 module is loaded by name
+     * so that this class still links when the module is absent.
+     */
     private static ObjectMapper createMapper() {
-        ObjectMapper mapper = JsonMapper.builder()
-                .findAndAddModules()
-                .build();
-        if (!supportsLocalDate(mapper)) {
+        ObjectMapper mapper = JsonMapper.builder().build();
+        try {
+            Class<?> type = Class.forName(JAVA_TIME_MODULE, true, JacksonSupport.class.getClassLoader());
+            mapper.registerModule((Module) type.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            // jackson-datatype-jsr310 is not on the runtime class path. Databind reports LocalDate as
+            // serializable even then (through a placeholder that throws), so register the fallback explicitly.
             mapper.registerModule(createLocalDateFallbackModule());
         }
         return mapper;
     }
 
-    private static boolean supportsLocalDate(ObjectMapper mapper) {
-        JavaType type = mapper.getTypeFactory().constructType(LocalDate.class);
-        return mapper.canSerialize(LocalDate.class) && mapper.canDeserialize(type);
-    }
-
     private static SimpleModule createLocalDateFallbackModule() {
         SimpleModule module = new SimpleModule("EraLocalDateFallback");
         module.addSerializer(LocalDate.class, new JsonSerializer<>() {
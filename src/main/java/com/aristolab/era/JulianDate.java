@@ -0,0 +1,188 @@
+package com.aristolab.era;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A date in the proleptic Julian calendar, with astronomical year numbering (year {@code 0} is 1 BC) to
+ * match {@link LocalDate}.
+ * <p>
+ * Conversions go through epoch days with integer arithmetic only, so the static helpers can be used in bulk
+ * without allocating. The Julian Day Number of a date is the integer JD of its noon, e.g. {@code 2451545}
+ * for 2000-01-01 (Gregorian).
+ */
+public final class JulianDate implements Comparable<JulianDate> {
+
+    /**
+     * Julian Day Number of 1970-01-01 (Gregorian), the epoch of {@link LocalDate#toEpochDay()}.
+     */
+    public static final long EPOCH_JULIAN_DAY = 2_440_588L;
+
+    private final int year;
+    private final int month;
+    private final int day;
+
+    private JulianDate(int year, int month, int day) {
+        this.year = year;
+        this.month = month;
+        this.day = day;
+    }
+
+    public static JulianDate of(int year, int month, int day) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Invalid month: " + month);
+        }
+        if (day < 1 || day > lengthOfMonth(year, month)) {
+            throw new IllegalArgumentException("Invalid day for " + year + "-" + month + ": " + day);
+        }
+        return new JulianDate(year, month, day);
+    }
+
+    public static JulianDate ofEpochDay(long epochDay) {
+        long packed = fromEpochDay(epochDay);
+        return new JulianDate((int) (packed >> 9), (int) (packed >> 5) & 0x0F, (int) packed & 0x1F);
+    }
+
+    public static JulianDate ofJulianDay(long julianDay) {
+        return ofEpochDay(julianDay - EPOCH_JULIAN_DAY);
+    }
+
+    public static JulianDate from(LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        return ofEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Parses {@code [+-]yyyy-MM-dd}, the same shape {@link LocalDate#parse(CharSequence)} accepts.
+     */
+    public static JulianDate parse(CharSequence text) {
+        Objects.requireNonNull(text, "text");
+        String value = text.toString().strip();
+        int monthDash = value.indexOf('-', 1);
+        int dayDash = monthDash < 0 ? -1 : value.indexOf('-', monthDash + 1);
+        if (monthDash < 0 || dayDash < 0) {
+            throw new IllegalArgumentException("Invalid Julian date: " + text);
+        }
+        try {
+            String yearText = value.startsWith("+") ? value.substring(1, monthDash) : value.substring(0, monthDash);
+            return of(Integer.parseInt(yearText), Integer.parseInt(value.substring(monthDash + 1, dayDash)),
+                    Integer.parseInt(value.substring(dayDash + 1)));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid Julian date: " + text, ex);
+        }
+    }
+
+    /**
+     * Epoch day of a Julian calendar date, without validating or allocating.
+     */
+    public static long toEpochDay(int year, int month, int day) {
+        // Shift the year to start in March so the leap day is the last day of the shifted year.
+        long shiftedYear = month <= 2 ? year - 1L : year;
+        int shiftedMonth = month <= 2 ? month + 9 : month - 3;
+        long days = 365 * shiftedYear + Math.floorDiv(shiftedYear, 4) + (153 * shiftedMonth + 2) / 5 + day - 1;
+        // Julian 0000-03-01 is Gregorian -0001-03-03, 719470 days before the Unix epoch.
+        return days - 719_470L;
+    }
+
+    /**
+     * Julian calendar date of an epoch day packed as {@code year << 9 | month << 5 | day}, so bulk callers can
+     * unpack the fields without allocating.
+     */
+    public static long fromEpochDay(long epochDay) {
+        long days = epochDay + 719_470L;
+        long cycle = Math.floorDiv(days, 1461);
+        int dayOfCycle = Math.floorMod(days, 1461);
+        int yearOfCycle = Math.min(dayOfCycle / 365, 3);
+        int dayOfYear = dayOfCycle - 365 * yearOfCycle;
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = 4 * cycle + yearOfCycle + (month <= 2 ? 1 : 0);
+        return year << 9 | (long) month << 5 | day;
+    }
+
+    public static long julianDayOf(LocalDate date) {
+        return date.toEpochDay() + EPOCH_JULIAN_DAY;
+    }
+
+    public static LocalDate localDateOfJulianDay(long julianDay) {
+        return LocalDate.ofEpochDay(julianDay - EPOCH_JULIAN_DAY);
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    public int year() {
+        return year;
+    }
+
+    public int month() {
+        return month;
+    }
+
+    public int day() {
+        return day;
+    }
+
+    public long toEpochDay() {
+        return toEpochDay(year, month, day);
+    }
+
+    public long toJulianDay() {
+        return toEpochDay() + EPOCH_JULIAN_DAY;
+    }
+
+    public LocalDate toLocalDate() {
+        try {
+            return LocalDate.ofEpochDay(toEpochDay());
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Outside of LocalDate range: " + this, ex);
+        }
+    }
+
+    @Override
+    public int compareTo(JulianDate other) {
+        return Long.compare(toEpochDay(), other.toEpochDay());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JulianDate that)) {
+            return false;
+        }
+        return year == that.year && month == that.month && day == that.day;
+    }
+
+    @Override
+    public int hashCode() {
+        return (year << 9) ^ (month << 5) ^ day;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(11);
+        if (year < 0) {
+            builder.append('-');
+        } else if (year > 9999) {
+            builder.append('+');
+        }
+        String digits = Integer.toString(Math.abs(year));
+        builder.append("0".repeat(Math.max(0, 4 - digits.length()))).append(digits);
+        builder.append(month < 10 ? "-0" : "-").append(month);
+        builder.append(day < 10 ? "-0" : "-").append(day);
+        return builder.toString();
+    }
+}
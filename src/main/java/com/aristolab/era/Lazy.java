@@ -0,0 +1,40 @@
+package com.aristolab.era;
+
+import java.util.function.Supplier;
+
+/**
+ * A value built on first use without locking, for the indexes and tables derived from immutable data.
+ * <p>
+ * Threads racing on the first call may each run the supplier, and the last one to finish publishes its
+ * result. That is harmless because every build yields an equivalent, immutable value, and it keeps reads a
+ * single volatile load. A {@code null} result is not cached, so suppliers may return {@code null} for
+ * "not available" at the cost of re-checking on each call.
+ *
+ * @param <T> type of the value
+ */
+final class Lazy<T> implements Supplier<T> {
+
+    private final Supplier<? extends T> supplier;
+    private volatile T value;
+
+    Lazy(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            result = supplier.get();
+            value = result;
+        }
+        return result;
+    }
+
+    /**
+     * Whether the value has been built.
+     */
+    boolean isBuilt() {
+        return value != null;
+    }
+}
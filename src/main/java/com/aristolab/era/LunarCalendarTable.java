@@ -0,0 +1,213 @@
+package com.aristolab.era;
+
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.ChineseCalendar;
+import com.ibm.icu.util.TimeZone;
+import com.ibm.icu.util.ULocale;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Precomputed Chinese lunisolar month table backed by a compact binary resource.
+ * <p>
+ * Computing month boundaries through ICU costs tens of microseconds per month, so the table for
+ * {@value #FIRST_YEAR} to {@value #LAST_YEAR} is generated once with {@link #compute(LocalDate, LocalDate)}
+ * and shipped as {@code /era/lunar-months.bin}. Run {@link #main(String[])} to regenerate it.
+ * <p>
+ * Resource layout: magic {@code ELUN}, format version byte, first month start (epoch day, int), first
+ * month's ICU extended year (int), month count (int), then one byte per month holding the month number
+ * (bits 0-3), the leap flag (bit 4) and whether the month has 30 days (bit 5).
+ */
+final class LunarCalendarTable {
+
+    static final int FIRST_YEAR = -110;
+    static final int LAST_YEAR = 2100;
+
+    private static final String RESOURCE = "/era/lunar-months.bin";
+    private static final int MAGIC = 0x454C554E;
+    private static final int FORMAT_VERSION = 1;
+    private static final int CHINESE_YEAR_OFFSET = 2637;
+    private static final long EPOCH_JULIAN_DAY = 2440588L;
+
+    private final int[] monthStarts;
+    private final byte[] months;
+    private final int[] years;
+    private final int[] newYearMonths;
+
+    private LunarCalendarTable(int firstStart, int firstExtendedYear, byte[] flags) {
+        int count = flags.length;
+        this.monthStarts = new int[count + 1];
+        this.months = new byte[count];
+        this.years = new int[count];
+        int[] newYears = new int[count];
+        int newYearCount = 0;
+        int start = firstStart;
+        int year = firstExtendedYear - CHINESE_YEAR_OFFSET;
+        for (int i = 0; i < count; i++) {
+            int month = flags[i] & 0x0F;
+            boolean leap = (flags[i] & 0x10) != 0;
+            if (i > 0 && month == 1 && !leap) {
+                year++;
+            }
+            if (month == 1 && !leap) {
+                newYears[newYearCount++] = i;
+            }
+            monthStarts[i] = start;
+            months[i] = flags[i];
+            years[i] = year;
+            start += (flags[i] & 0x20) != 0 ? 30 : 29;
+        }
+        monthStarts[count] = start;
+        this.newYearMonths = Arrays.copyOf(newYears, newYearCount);
+    }
+
+    static LunarCalendarTable instance() {
+        return Holder.INSTANCE;
+    }
+
+    boolean covers(long epochDay) {
+        return epochDay >= monthStarts[0] && epochDay < monthStarts[monthStarts.length - 1];
+    }
+
+    int monthCount() {
+        return months.length;
+    }
+
+    /**
+     * Returns the index of the lunar month containing the given day. The day must be {@link #covers covered}.
+     */
+    int monthIndex(long epochDay) {
+        if (!covers(epochDay)) {
+            throw new IllegalArgumentException("Date outside of lunar table range: " + LocalDate.ofEpochDay(epochDay));
+        }
+        int index = Arrays.binarySearch(monthStarts, (int) epochDay);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    long monthStart(int monthIndex) {
+        return monthStarts[monthIndex];
+    }
+
+    int month(int monthIndex) {
+        return months[monthIndex] & 0x0F;
+    }
+
+    boolean isLeapMonth(int monthIndex) {
+        return (months[monthIndex] & 0x10) != 0;
+    }
+
+    /**
+     * Lunar year of the month, numbered like the Gregorian year in which that lunar year begins.
+     */
+    int year(int monthIndex) {
+        return years[monthIndex];
+    }
+
+    int dayOfMonth(long epochDay, int monthIndex) {
+        return (int) (epochDay - monthStarts[monthIndex]) + 1;
+    }
+
+    /**
+     * Number of lunar new years falling in {@code (fromMonth, toMonth]}, both given as month indices.
+     */
+    int newYearsBetween(int fromMonth, int toMonth) {
+        return newYearPosition(toMonth) - newYearPosition(fromMonth);
+    }
+
+    /**
+     * Month index of the {@code n}-th lunar new year following the given month.
+     */
+    int newYearAfter(int monthIndex, int n) {
+        return newYearMonths[newYearPosition(monthIndex) + n - 1];
+    }
+
+    private int newYearPosition(int monthIndex) {
+        int position = Arrays.binarySearch(newYearMonths, monthIndex);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    static LunarCalendarTable compute(LocalDate from, LocalDate to) {
+        ChineseCalendar calendar = new ChineseCalendar(TimeZone.GMT_ZONE, ULocale.ROOT);
+        calendar.setTimeInMillis(from.toEpochDay() * 86_400_000L);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        int firstStart = epochDay(calendar);
+        int firstExtendedYear = calendar.get(Calendar.EXTENDED_YEAR);
+        long last = to.toEpochDay();
+        byte[] flags = new byte[(int) ((last - firstStart) / 29) + 2];
+        int count = 0;
+        int start = firstStart;
+        while (start <= last) {
+            int month = calendar.get(Calendar.MONTH) + 1;
+            boolean leap = calendar.get(Calendar.IS_LEAP_MONTH) == 1;
+            calendar.add(Calendar.MONTH, 1);
+            int next = epochDay(calendar);
+            flags[count++] = (byte) (month | (leap ? 0x10 : 0) | (next - start == 30 ? 0x20 : 0));
+            start = next;
+        }
+        return new LunarCalendarTable(firstStart, firstExtendedYear, Arrays.copyOf(flags, count));
+    }
+
+    static LunarCalendarTable read(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != MAGIC || data.readUnsignedByte() != FORMAT_VERSION) {
+            throw new IOException("Unsupported lunar table format");
+        }
+        int firstStart = data.readInt();
+        int firstExtendedYear = data.readInt();
+        byte[] flags = new byte[data.readInt()];
+        data.readFully(flags);
+        return new LunarCalendarTable(firstStart, firstExtendedYear, flags);
+    }
+
+    void write(OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeByte(FORMAT_VERSION);
+        data.writeInt(monthStarts[0]);
+        data.writeInt(years[0] + CHINESE_YEAR_OFFSET);
+        data.writeInt(months.length);
+        for (int i = 0; i < months.length; i++) {
+            int length = monthStarts[i + 1] - monthStarts[i];
+            data.writeByte((months[i] & 0x1F) | (length == 30 ? 0x20 : 0));
+        }
+        data.flush();
+    }
+
+    private static int epochDay(ChineseCalendar calendar) {
+        return (int) (calendar.get(Calendar.JULIAN_DAY) - EPOCH_JULIAN_DAY);
+    }
+
+    /**
+     * Regenerates the bundled table: {@code LunarCalendarTable <output-file>}.
+     */
+    public static void main(String[] args) throws IOException {
+        LunarCalendarTable table = compute(LocalDate.of(FIRST_YEAR, 1, 1), LocalDate.of(LAST_YEAR, 12, 31));
+        try (OutputStream output = Files.newOutputStream(Path.of(args[0]))) {
+            table.write(output);
+        }
+    }
+
+    private static final class Holder {
+        private static final LunarCalendarTable INSTANCE = load();
+
+        private static LunarCalendarTable load() {
+            try (InputStream input = LunarCalendarTable.class.getResourceAsStream(RESOURCE)) {
+                if (input == null) {
+                    throw new IllegalStateException("Missing resource: " + RESOURCE);
+                }
+                return read(input);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Unable to load lunar month table", ex);
+            }
+        }
+    }
+}
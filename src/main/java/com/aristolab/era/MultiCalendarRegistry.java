@@ -0,0 +1,190 @@
+package com.aristolab.era;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Several era catalogues, one per calendar system (e.g. Chinese eras, Japanese nengō, Korean or Vietnamese
+ * eras), served through a single combined {@link EraRegistry}.
+ * <p>
+ * Parsing and reverse conversion run once against the combined alias trie and interval index instead of once
+ * per system, so their cost does not grow with the number of systems. Every result carries the identifier of
+ * the system its era belongs to. A definition present in several systems is attributed to the first one
+ * added.
+ */
+public final class MultiCalendarRegistry {
+
+    private final Map<String, EraRegistry> systems;
+    private final Map<EraDefinition, String> systemOf;
+    private final EraRegistry combined;
+    private final EraConverter converter;
+
+    private MultiCalendarRegistry(Map<String, EraRegistry> systems) {
+        this.systems = Collections.unmodifiableMap(new LinkedHashMap<>(systems));
+        Map<EraDefinition, String> owners = new HashMap<>();
+        List<EraDefinition> all = new ArrayList<>();
+        systems.forEach((system, registry) -> {
+            for (EraDefinition definition : registry.definitions()) {
+                if (owners.putIfAbsent(definition, system) == null) {
+                    all.add(definition);
+                }
+            }
+        });
+        this.systemOf = owners;
+        this.combined = EraRegistry.of(all);
+        this.converter = new EraConverter(combined);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * System identifiers in the order they were added.
+     */
+    public List<String> systems() {
+        return List.copyOf(systems.keySet());
+    }
+
+    public EraRegistry system(String system) {
+        EraRegistry registry = systems.get(system);
+        if (registry == null) {
+            throw new IllegalArgumentException("Unknown calendar system: " + system);
+        }
+        return registry;
+    }
+
+    /**
+     * The registry over the definitions of all systems.
+     */
+    public EraRegistry combined() {
+        return combined;
+    }
+
+    public Optional<String> systemOf(EraDefinition definition) {
+        return Optional.ofNullable(systemOf.get(definition));
+    }
+
+    /**
+     * Parses {@code text} against all systems at once; see {@link EraConverter#parse(String)}.
+     */
+    public SystemEraDate parse(String text) {
+        return withSystem(converter.parse(text));
+    }
+
+    /**
+     * {@link #parse(String)} without exceptions; see {@link EraConverter#tryParse(String)}.
+     */
+    public SystemParseResult tryParse(String text) {
+        EraParseResult result = converter.tryParse(text);
+        return new SystemParseResult(result, result.value().map(date -> systemOf.get(date.definition())).orElse(null));
+    }
+
+    /**
+     * The eras of every system in force on {@code date}, in start order, with years counted as in
+     * {@link EraConverter#toEra(LocalDate)}.
+     */
+    public List<SystemEraDate> toEras(LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        List<EraDefinition> definitions = combined.definitionsAt(date.toEpochDay());
+        List<SystemEraDate> result = new ArrayList<>(definitions.size());
+        for (EraDefinition definition : definitions) {
+            result.add(withSystem(new EraDate(definition, definition.yearOffset(date) + 1)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * The first era of {@code system} in force on {@code date}.
+     */
+    public Optional<SystemEraDate> toEra(LocalDate date, String system) {
+        Objects.requireNonNull(date, "date");
+        system(system);
+        for (EraDefinition definition : combined.definitionsAt(date.toEpochDay())) {
+            if (system.equals(systemOf.get(definition))) {
+                return Optional.of(withSystem(new EraDate(definition, definition.yearOffset(date) + 1)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public LocalDate toGregorianDate(SystemEraDate date) {
+        Objects.requireNonNull(date, "date");
+        return converter.toGregorianDate(date.date());
+    }
+
+    private SystemEraDate withSystem(EraDate date) {
+        return new SystemEraDate(systemOf.get(date.definition()), date);
+    }
+
+    /**
+     * An era date together with the calendar system of its era.
+     */
+    public record SystemEraDate(String system, EraDate date) {
+
+        public SystemEraDate {
+            Objects.requireNonNull(system, "system");
+            Objects.requireNonNull(date, "date");
+        }
+    }
+
+    /**
+     * Outcome of {@link #tryParse(String)}: the converter's result and, when it succeeded, the calendar system
+     * of the parsed era ({@code null} otherwise).
+     */
+    public record SystemParseResult(EraParseResult result, String system) {
+
+        public SystemParseResult {
+            Objects.requireNonNull(result, "result");
+        }
+
+        public boolean isSuccess() {
+            return result.isSuccess();
+        }
+
+        public Optional<SystemEraDate> value() {
+            return result.value().map(date -> new SystemEraDate(system, date));
+        }
+
+        /**
+         * The parsed date with its system, or the exception {@link MultiCalendarRegistry#parse(String)} throws.
+         */
+        public SystemEraDate orElseThrow() {
+            return new SystemEraDate(system, result.orElseThrow());
+        }
+    }
+
+    public static final class Builder {
+
+        private final Map<String, EraRegistry> systems = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder add(String system, EraRegistry registry) {
+            Objects.requireNonNull(system, "system");
+            Objects.requireNonNull(registry, "registry");
+            if (system.isBlank()) {
+                throw new IllegalArgumentException("system must not be blank");
+            }
+            if (systems.putIfAbsent(system, registry) != null) {
+                throw new IllegalArgumentException("Duplicate calendar system: " + system);
+            }
+            return this;
+        }
+
+        public MultiCalendarRegistry build() {
+            if (systems.isEmpty()) {
+                throw new IllegalArgumentException("At least one calendar system is required");
+            }
+            return new MultiCalendarRegistry(systems);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.aristolab.era;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalogue split into one resource per dynasty, loaded on first access.
+ * <p>
+ * Only the shard index (dynasty, resource path, date span and size of each shard) is read up front, so a
+ * process working on a couple of dynasties parses and indexes only their definitions. Shards can be
+ * selected by dynasty name or by date range; each loaded shard is an ordinary {@link EraRegistry} and is
+ * cached for the lifetime of this instance.
+ * <p>
+ * Shard entries may carry an {@code "ordinal"}: their position in the combined catalogue. Registries spanning
+ * several shards put their definitions in ordinal order before sorting by start date, so eras starting on the
+ * same day keep the order of {@code /era/era-definitions.json} and name lookups resolve exactly as they do
+ * on the combined resource. The bundled shards and their index are generated from that combined resource.
+ */
+public final class ShardedEraRegistry {
+
+    private static final String DEFAULT_INDEX = "/era/dynasties/index.json";
+
+    private final Map<String, Shard> shards;
+    private final List<Shard> byStart;
+    private final Map<String, Loaded> loaded = new ConcurrentHashMap<>();
+
+    private ShardedEraRegistry(List<Shard> shards) {
+        Map<String, Shard> byDynasty = new LinkedHashMap<>();
+        for (Shard shard : shards) {
+            if (byDynasty.putIfAbsent(shard.dynasty(), shard) != null) {
+                throw new IllegalArgumentException("Duplicate shard for dynasty: " + shard.dynasty());
+            }
+        }
+        List<Shard> sorted = new ArrayList<>(shards);
+        sorted.sort(Comparator.comparing(Shard::startDate));
+        this.shards = Collections.unmodifiableMap(byDynasty);
+        this.byStart = List.copyOf(sorted);
+    }
+
+    public static ShardedEraRegistry defaultShards() {
+        return fromIndex(DEFAULT_INDEX);
+    }
+
+    /**
+     * Reads a shard index: a JSON array of {@code {"dynasty", "resource", "startDate", "endDate", "count"}}
+     * objects, one per dynasty resource.
+     */
+    public static ShardedEraRegistry fromIndex(String indexResource) {
+        Objects.requireNonNull(indexResource, "indexResource");
+        try (InputStream input = ShardedEraRegistry.class.getResourceAsStream(indexResource)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Resource not found: " + indexResource);
+            }
+            List<Shard> shards = new ArrayList<>();
+            for (Map<String, String> entry : EraJsonReader.readFlatObjects(input)) {
+                shards.add(new Shard(
+                        entry.get("dynasty"),
+                        entry.get("resource"),
+                        LocalDate.parse(entry.get("startDate")),
+                        LocalDate.parse(entry.get("endDate")),
+                        Integer.parseInt(entry.getOrDefault("count", "0"))));
+            }
+            return new ShardedEraRegistry(shards);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Unable to load shard index from resource", ex);
+        }
+    }
+
+    /**
+     * Dynasty names in order of their first era.
+     */
+    public List<String> dynasties() {
+        return byStart.stream().map(Shard::dynasty).toList();
+    }
+
+    public boolean isLoaded(String dynasty) {
+        return loaded.containsKey(dynasty);
+    }
+
+    public Optional<EraRegistry> dynasty(String dynasty) {
+        if (dynasty == null || dynasty.isBlank()) {
+            return Optional.empty();
+        }
+        Shard shard = shards.get(dynasty.strip());
+        return shard == null ? Optional.empty() : Optional.of(load(shard).registry());
+    }
+
+    /**
+     * Registry holding the definitions of the named dynasties. Unknown names are ignored.
+     */
+    public EraRegistry dynasties(Collection<String> dynasties) {
+        Objects.requireNonNull(dynasties, "dynasties");
+        List<Loaded> selected = new ArrayList<>();
+        for (String dynasty : dynasties) {
+            Shard shard = dynasty == null ? null : shards.get(dynasty.strip());
+            if (shard != null) {
+                selected.add(load(shard));
+            }
+        }
+        return combine(selected);
+    }
+
+    /**
+     * Registry holding every dynasty whose span intersects {@code [start, end]}. Only those shards are loaded.
+     */
+    public EraRegistry forRange(LocalDate start, LocalDate end) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("end must not be before start");
+        }
+        List<Loaded> selected = new ArrayList<>();
+        for (Shard shard : byStart) {
+            if (shard.startDate().isAfter(end)) {
+                break;
+            }
+            if (!shard.endDate().isBefore(start)) {
+                selected.add(load(shard));
+            }
+        }
+        return combine(selected);
+    }
+
+    /**
+     * Registry holding every shard, equivalent to {@link EraRegistry#defaultRegistry()} for the default index.
+     */
+    public EraRegistry all() {
+        List<Loaded> selected = new ArrayList<>(byStart.size());
+        for (Shard shard : byStart) {
+            selected.add(load(shard));
+        }
+        return combine(selected);
+    }
+
+    private Loaded load(Shard shard) {
+        return loaded.computeIfAbsent(shard.dynasty(), key -> read(shard.resource()));
+    }
+
+    private static Loaded read(String resource) {
+        try (InputStream input = ShardedEraRegistry.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Resource not found: " + resource);
+            }
+            List<Integer> ordinals = new ArrayList<>();
+            List<EraDefinition> definitions = EraJsonReader.readDefinitions(input, ordinals);
+            return new Loaded(EraRegistry.of(definitions), definitions,
+                    ordinals.stream().mapToInt(Integer::intValue).toArray());
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Unable to load era definitions from resource", ex);
+        }
+    }
+
+    /**
+     * One registry over the given shards, with definitions in catalogue order before the start-date sort.
+     */
+    private static EraRegistry combine(List<Loaded> selected) {
+        List<Map.Entry<Integer, EraDefinition>> entries = new ArrayList<>();
+        for (Loaded shard : selected) {
+            for (int i = 0; i < shard.definitions().size(); i++) {
+                entries.add(Map.entry(shard.ordinals()[i], shard.definitions().get(i)));
+            }
+        }
+        // Stable: shards without ordinals keep the order in which they were selected.
+        entries.sort(Map.Entry.comparingByKey());
+        return EraRegistry.of(entries.stream().map(Map.Entry::getValue).toList());
+    }
+
+    /**
+     * A shard's registry together with its definitions and ordinals in resource order.
+     */
+    private record Loaded(EraRegistry registry, List<EraDefinition> definitions, int[] ordinals) {
+    }
+
+    private record Shard(String dynasty, String resource, LocalDate startDate, LocalDate endDate, int count) {
+    }
+}
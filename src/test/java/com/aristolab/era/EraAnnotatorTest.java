@@ -0,0 +1,69 @@
+package com.aristolab.era;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EraAnnotatorTest {
+
+    private static final String[] PIECES = {
+            "永樂", "五年", "二月", "初十日", "明", "閏", "三月", "十", "年", "。", "天寶", "天", "寶", "開元",
+            "乾隆", "四十五年", "記", "於", " ", "abc", "光緒", "元年", "正", "日"
+    };
+
+    private final EraRegistry registry = EraRegistry.defaultRegistry();
+
+    @Test
+    void findsMentionsWithDateExpressions() {
+        EraAnnotator annotator = EraAnnotator.of(registry, "事在明永樂五年二月初十日，又見乾隆四十五年。");
+        List<String> texts = annotator.mentions().stream().map(EraAnnotator.Mention::text).toList();
+        assertTrue(texts.contains("永樂五年二月初十日"), texts::toString);
+        assertTrue(texts.contains("乾隆四十五年"), texts::toString);
+
+        EraAnnotator.Change change = annotator.edit(annotator.text().indexOf("五年"), 2, "六年閏");
+        assertTrue(change.removed().stream().anyMatch(mention -> mention.text().equals("永樂五年二月初十日")));
+        assertTrue(change.added().stream().anyMatch(mention -> mention.text().equals("永樂六年閏二月初十日")));
+        assertEquals(EraAnnotator.of(registry, annotator.text()).mentions(), annotator.mentions());
+    }
+
+    @Test
+    void incrementalEditsMatchFullRescan() {
+        Random random = new Random(39);
+        StringBuilder initial = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            initial.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        EraAnnotator annotator = EraAnnotator.of(registry, initial);
+        for (int step = 0; step < 600; step++) {
+            int length = annotator.length();
+            // Mostly local edits around a moving cursor, with occasional jumps, like typing.
+            int offset = step % 50 == 0 ? random.nextInt(length + 1)
+                    : Math.min(length, Math.max(0, length / 2 + random.nextInt(41) - 20));
+            int removed = random.nextInt(3) == 0 ? random.nextInt(Math.min(6, length - offset) + 1) : 0;
+            String inserted = random.nextInt(4) == 0 ? "" : PIECES[random.nextInt(PIECES.length)];
+            annotator.edit(offset, removed, inserted);
+            int current = step;
+            assertEquals(EraAnnotator.of(registry, annotator.text()).mentions(), annotator.mentions(),
+                    () -> "step " + current);
+        }
+        assertThrows(IllegalArgumentException.class, () -> annotator.edit(annotator.length() + 1, 0, "x"));
+        assertThrows(IllegalArgumentException.class, () -> annotator.edit(0, annotator.length() + 1, ""));
+    }
+
+    @Test
+    void rescanWindowDoesNotGrowWithDocument() {
+        String sentence = "其後永樂五年二月初十日遣使入貢，事見本紀。";
+        for (int repeat : new int[]{10, 2_000}) {
+            EraAnnotator annotator = EraAnnotator.of(registry, sentence.repeat(repeat));
+            int middle = sentence.length() * (repeat / 2) + 4;
+            annotator.edit(middle, 0, "九");
+            assertTrue(annotator.lastScanned() <= 4 * annotator.maxMentionLength(),
+                    () -> "scanned " + annotator.lastScanned());
+            annotator.edit(middle, 1, "");
+            assertEquals(repeat, annotator.mentions().size());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.aristolab.era;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EraArchiveScannerTest {
+
+    private static final String[] PIECES = {
+            "永樂", "五年", "二月", "初十日", "明", "閏", "三月", "十", "年", "。", "天寶", "開元", "乾隆",
+            "四十五年", "記", " ", "abc\n", "光緒", "元年", "日"
+    };
+
+    private final EraRegistry registry = EraRegistry.defaultRegistry();
+
+    @Test
+    void chunkedScanMatchesWholeTextScan() throws Exception {
+        Random random = new Random(40);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            text.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        List<EraArchiveScanner.Hit> expected = EraAnnotator.of(registry, text).mentions().stream()
+                .map(mention -> new EraArchiveScanner.Hit(mention.start(), mention.text()))
+                .toList();
+        assertFalse(expected.isEmpty());
+        for (int chunkSize : new int[]{1, 97, 1 << 16}) {
+            EraArchiveScanner scanner = EraArchiveScanner.builder(registry).chunkSize(chunkSize).build();
+            assertEquals(expected, scanner.scan(new StringReader(text.toString())), () -> "chunk " + chunkSize);
+        }
+    }
+
+    @Test
+    void scansDirectoryTreeInParallel(@TempDir Path root) throws Exception {
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            Path dir = Files.createDirectories(root.resolve("vol" + (i % 4)));
+            String text = "卷" + i + "：明永樂五年二月初十日遣使，乾隆四十五年再至。".repeat(i + 1);
+            Files.writeString(dir.resolve("doc" + i + ".txt"), text);
+            expected.put("vol" + (i % 4) + "/doc" + i + ".txt", 2 * (i + 1));
+        }
+        Files.writeString(root.resolve("skip.bin"), "永樂五年");
+        Files.write(root.resolve("broken.txt"), new byte[]{(byte) 0xff, (byte) 0xfe, 0x00});
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EraArchiveScanner scanner = EraArchiveScanner.builder(registry)
+                .parallelism(4)
+                .maxInFlight(3)
+                .chunkSize(64)
+                .filter(path -> path.toString().endsWith(".txt"))
+                .build();
+        EraArchiveScanner.Report report = scanner.scan(root, out);
+
+        assertEquals(41, report.files());
+        assertEquals(1, report.failures());
+        assertEquals(expected.values().stream().mapToLong(Integer::longValue).sum(), report.mentions());
+        assertTrue(report.charactersPerSecond() > 0);
+
+        ObjectMapper mapper = new ObjectMapper();
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(41, lines.length);
+        Map<String, Integer> actual = new HashMap<>();
+        for (String line : lines) {
+            JsonNode node = mapper.readTree(line);
+            String path = node.get("path").asText();
+            if (path.equals("broken.txt")) {
+                assertTrue(node.has("error"));
+                continue;
+            }
+            JsonNode mentions = node.get("mentions");
+            actual.put(path, mentions.size());
+            assertEquals("永樂五年二月初十日", mentions.get(0).get(1).asText());
+        }
+        assertEquals(expected, actual);
+    }
+}
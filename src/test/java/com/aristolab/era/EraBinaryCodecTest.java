@@ -0,0 +1,87 @@
+package com.aristolab.era;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EraBinaryCodecTest {
+
+    private final EraRegistry registry = EraRegistry.defaultRegistry();
+    private final EraConverter converter = new EraConverter(registry);
+    private final EraBinaryCodec codec = EraBinaryCodec.forRegistry(registry);
+
+    @Test
+    void roundTripsDatesThroughByteBuffers() {
+        List<EraDate> dates = List.of(
+                converter.parse("明永樂五年閏二月初十日"),
+                converter.parse("清乾隆四十五年"),
+                converter.parse("西漢太初元年五月"));
+        ByteBuffer buffer = ByteBuffer.allocate(dates.size() * EraBinaryCodec.MAX_RECORD_SIZE);
+        dates.forEach(date -> codec.encode(date, buffer));
+        buffer.flip();
+        for (EraDate expected : dates) {
+            EraDate decoded = codec.decode(buffer);
+            assertSame(expected.definition(), decoded.definition());
+            assertEquals(expected.year(), decoded.year());
+            assertEquals(expected.month(), decoded.month());
+            assertEquals(expected.isLeapMonth(), decoded.isLeapMonth());
+            assertEquals(expected.day(), decoded.day());
+        }
+        assertFalse(buffer.hasRemaining());
+        assertTrue(dates.getFirst().isLeapMonth());
+        assertEquals("明永樂五年閏二月十日", dates.getFirst().toText());
+    }
+
+    @Test
+    void isAnOrderOfMagnitudeSmallerThanJson() {
+        EraDate date = converter.parse("明永樂五年二月初十日");
+        byte[] encoded = codec.encode(date);
+        String json = new EraToolkit(registry).pack(List.of(date.definition()));
+        assertTrue(encoded.length <= 10, () -> "encoded=" + encoded.length);
+        assertTrue(json.length() >= encoded.length * 10, () -> "json=" + json.length());
+    }
+
+    @Test
+    void rejectsRecordsFromOtherRegistryVersions() {
+        EraDefinition extra = new EraDefinition("測試", "某王", "天統", List.of(),
+                LocalDate.of(1500, 1, 1), LocalDate.of(1502, 12, 31), "");
+        EraBinaryCodec other = EraBinaryCodec.forRegistry(EraRegistry.layered(registry, List.of(extra), List.of()));
+        assertNotEquals(codec.registryVersion(), other.registryVersion());
+        byte[] encoded = codec.encode(converter.parse("清乾隆四十五年"));
+        assertThrows(IllegalArgumentException.class, () -> other.decode(encoded));
+        assertEquals(codec.registryVersion(), EraBinaryCodec.forRegistry(EraRegistry.defaultRegistry()).registryVersion());
+    }
+
+    @Test
+    void rejectsCorruptDefinitionIds() throws Exception {
+        // A five-byte varint decoding to -1, followed by year 1 and empty flags.
+        ByteBuffer record = ByteBuffer.allocate(EraBinaryCodec.MAX_RECORD_SIZE)
+                .put((byte) 1).putInt(codec.registryVersion())
+                .put(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 1, 0});
+        byte[] corrupt = new byte[record.position()];
+        record.flip().get(corrupt);
+        assertEquals("Unknown definition id: -1",
+                assertThrows(IllegalArgumentException.class, () -> codec.decode(corrupt)).getMessage());
+
+        ObjectMapper mapper = JsonMapper.builder().addModule(codec.jacksonModule()).build();
+        String json = mapper.writeValueAsString(corrupt);
+        assertThrows(JsonMappingException.class, () -> mapper.readValue(json, EraDate.class));
+    }
+
+    @Test
+    void jacksonModuleEmitsCompactForm() throws Exception {
+        ObjectMapper mapper = JsonMapper.builder().addModule(codec.jacksonModule()).build();
+        EraDate date = converter.parse("清乾隆四十五年三月");
+        String json = mapper.writeValueAsString(date);
+        assertTrue(json.length() < 20, json);
+        EraDate decoded = mapper.readValue(json, EraDate.class);
+        assertEquals(date.toText(), decoded.toText());
+    }
+}
@@ -0,0 +1,146 @@
+package com.aristolab.era;
+
+import com.ibm.icu.util.ChineseCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers shared converter and toolkit instances from many threads and checks every result against a
+ * single-threaded baseline. Thread counts go from one up to twice the available processors.
+ */
+class EraConcurrencyTest {
+
+    private static final int ROUNDS = 20;
+
+    private final EraRegistry registry = EraRegistry.defaultRegistry();
+    private final EraConverter converter = new EraConverter(registry);
+    private final EraToolkit toolkit = new EraToolkit(registry);
+
+    @Test
+    void parseIsThreadSafe() throws Exception {
+        List<String> texts = registry.definitions().stream()
+                .map(def -> def.dynasty() + def.eraName() + "二年閏三月初五日")
+                .toList();
+        assertConsistent(texts, text -> {
+            try {
+                EraDate date = converter.parse(text);
+                return date.definition() + "|" + date.toText();
+            } catch (IllegalArgumentException ex) {
+                return "error|" + ex.getMessage();
+            }
+        });
+    }
+
+    @Test
+    void reverseConversionIsThreadSafe() throws Exception {
+        List<LocalDate> dates = sampleDates(LocalDate.of(-100, 1, 1), LocalDate.of(1911, 12, 31), 2_000);
+        assertConsistent(dates, date -> converter.toEra(date).map(EraDate::toText).orElse("-"));
+    }
+
+    @Test
+    void lunarConversionIsThreadSafeAndMatchesIcu() throws Exception {
+        List<LocalDate> dates = sampleDates(LocalDate.of(1, 3, 1), LocalDate.of(2099, 12, 31), 2_000);
+        for (LocalDate date : dates) {
+            assertEquals(icuChineseCalendar(date), toolkit.chineseCalendar(date), date::toString);
+        }
+        assertConsistent(dates, toolkit::chineseCalendar);
+    }
+
+    @Test
+    void lazyIndexIsPublishedOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            EraRegistry fresh = EraRegistry.of(registry.definitions());
+            Set<EraIndex> seen = ConcurrentHashMap.newKeySet();
+            runConcurrently(threadCount(), thread -> {
+                seen.add(fresh.index());
+                List<EraDefinition> definitions = fresh.definitions();
+                assertEquals(definitions.size() - 1, fresh.index().idOf(definitions.get(definitions.size() - 1)));
+            });
+            assertEquals(1, seen.size());
+        }
+    }
+
+    private <T> void assertConsistent(List<T> inputs, Function<T, String> operation) throws Exception {
+        List<String> expected = inputs.stream().map(operation).toList();
+        for (int threads = 1; threads <= threadCount(); threads *= 2) {
+            int count = threads;
+            runConcurrently(count, thread -> {
+                // Each thread walks the inputs from a different offset so that the same values are hit concurrently.
+                int offset = thread * inputs.size() / count;
+                for (int round = 0; round < ROUNDS / count + 1; round++) {
+                    for (int i = 0; i < inputs.size(); i++) {
+                        int at = (offset + i) % inputs.size();
+                        assertEquals(expected.get(at), operation.apply(inputs.get(at)));
+                    }
+                }
+            });
+        }
+    }
+
+    private static void runConcurrently(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int threadCount() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    private static List<LocalDate> sampleDates(LocalDate from, LocalDate to, int count) {
+        long first = from.toEpochDay();
+        long step = (to.toEpochDay() - first) / count;
+        List<LocalDate> dates = new ArrayList<>(IntStream.range(0, count)
+                .mapToObj(i -> LocalDate.ofEpochDay(first + i * step + i % 29))
+                .toList());
+        Collections.shuffle(dates, new Random(34));
+        return dates;
+    }
+
+    private static String icuChineseCalendar(LocalDate date) {
+        ChineseCalendar calendar = new ChineseCalendar();
+        calendar.setTimeInMillis(date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        return ChineseNumberFormatter.format(calendar.get(ChineseCalendar.EXTENDED_YEAR) - 2637) + "年"
+                + (calendar.get(ChineseCalendar.IS_LEAP_MONTH) == 1 ? "閏" : "")
+                + ChineseNumberFormatter.format(calendar.get(ChineseCalendar.MONTH) + 1) + "月"
+                + ChineseNumberFormatter.format(calendar.get(ChineseCalendar.DAY_OF_MONTH)) + "日";
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,110 @@
+package com.aristolab.era;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EraConversionProcessorTest {
+
+    private final EraConverter converter = new EraConverter(EraRegistry.defaultRegistry());
+
+    @Test
+    void convertsTextInOrderAndKeepsStreamAliveOnErrors() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        SubmissionPublisher<String> source = new SubmissionPublisher<>();
+        try {
+            EraConversionProcessor<String> processor = EraConversionProcessor.forText(converter, executor, 4, 3);
+            source.subscribe(processor);
+            List<EraConversionResult<String>> results = new CopyOnWriteArrayList<>();
+            var done = processor.consume(results::add);
+            for (int i = 1; i <= 50; i++) {
+                source.submit(i % 10 == 0 ? "無年號" : "明永樂" + ChineseNumberFormatter.format(i % 22 + 1) + "年");
+            }
+            source.close();
+            done.get(10, TimeUnit.SECONDS);
+
+            assertEquals(50, results.size());
+            for (int i = 1; i <= 50; i++) {
+                EraConversionResult<String> result = results.get(i - 1);
+                if (i % 10 == 0) {
+                    assertFalse(result.isSuccess());
+                    assertInstanceOf(IllegalArgumentException.class, result.error().orElseThrow());
+                    assertSame(result.error().orElseThrow(), result.error().orElseThrow());
+                } else {
+                    assertEquals(i % 22 + 1, result.value().orElseThrow().year());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void downstreamCancellationCancelsUpstream() throws Exception {
+        try (SubmissionPublisher<String> source = new SubmissionPublisher<>()) {
+            EraConversionProcessor<String> processor = EraConversionProcessor.forText(converter);
+            source.subscribe(processor);
+            CountDownLatch received = new CountDownLatch(1);
+            processor.subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(EraConversionResult<String> item) {
+                    subscription.cancel();
+                    received.countDown();
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            for (int i = 0; source.getNumberOfSubscribers() > 0 && System.nanoTime() < deadline; i++) {
+                source.submit("明永樂" + ChineseNumberFormatter.format(i % 22 + 1) + "年");
+            }
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+            assertEquals(0, source.getNumberOfSubscribers());
+        }
+    }
+
+    @Test
+    void convertsDatesAndPropagatesUpstreamErrors() throws Exception {
+        try (SubmissionPublisher<LocalDate> source = new SubmissionPublisher<>()) {
+            EraConversionProcessor<LocalDate> processor = EraConversionProcessor.forDates(converter);
+            source.subscribe(processor);
+            List<EraConversionResult<LocalDate>> results = new CopyOnWriteArrayList<>();
+            var done = processor.consume(results::add);
+            source.submit(LocalDate.of(1875, 10, 10));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (results.isEmpty() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            source.closeExceptionally(new IllegalStateException("upstream failed"));
+
+            Exception failure = assertThrows(Exception.class, () -> done.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertEquals(1, results.size());
+            assertEquals("光緒", results.getFirst().value().orElseThrow().definition().eraName());
+        }
+    }
+}
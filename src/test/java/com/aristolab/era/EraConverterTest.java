@@ -1,8 +1,17 @@
 package com.aristolab.era;
 
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.ChineseCalendar;
+import com.ibm.icu.util.TimeZone;
+import com.ibm.icu.util.ULocale;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,6 +31,69 @@ class EraConverterTest {
         assertTrue(date.day().isPresent());
     }
 
+    @Test
+    void tryParseReportsFailuresWithoutThrowing() {
+        assertTrue(converter.tryParse(" 明永樂五年二月初十日").isSuccess());
+        assertEquals(EraParseResult.Error.EMPTY_INPUT, converter.tryParse("  ").error().orElseThrow());
+        assertEquals(EraParseResult.Error.EMPTY_INPUT, converter.tryParse(null).error().orElseThrow());
+        assertEquals(EraParseResult.Error.ERA_NOT_FOUND, converter.tryParse("hello").error().orElseThrow());
+        assertEquals(EraParseResult.Error.YEAR_NOT_FOUND, converter.tryParse("永樂二月").error().orElseThrow());
+
+        EraParseResult invalid = converter.tryParse("  永樂〇年");
+        assertEquals(EraParseResult.Error.INVALID_YEAR, invalid.error().orElseThrow());
+        assertEquals("〇", invalid.input().substring(invalid.errorStart(), invalid.errorEnd()));
+        invalid = converter.tryParse("永樂99999999999年");
+        assertEquals(EraParseResult.Error.INVALID_YEAR, invalid.error().orElseThrow());
+        assertEquals(2, invalid.errorStart());
+        assertThrows(IllegalArgumentException.class, invalid::orElseThrow);
+    }
+
+    @Test
+    void parseFailuresKeepTheirMessages() {
+        Map<String, String> messages = new LinkedHashMap<>();
+        messages.put("  ", "text");
+        messages.put("hello", "Unable to locate era information in text: hello");
+        messages.put("天寶", "Era year not found in text: 天寶");
+        messages.put(" 永樂〇年", "Era year must be >= 1");
+        messages.put("永樂元元年", "Unsupported Chinese numeral: 元 in 元元");
+        messages.put("永樂99999999999年", "Chinese numeral out of range: 99999999999");
+        messages.forEach((text, message) -> {
+            assertEquals(message, assertThrows(IllegalArgumentException.class, () -> converter.parse(text)).getMessage());
+            assertEquals(message, converter.tryParse(text).toException().getMessage());
+        });
+
+        EraDate date = converter.parse("清乾隆四十五年閏五月");
+        assertEquals("乾隆", date.definition().eraName());
+        assertEquals(45, date.year());
+        assertEquals(5, date.month().orElseThrow());
+        assertTrue(date.day().isEmpty());
+        date = converter.parse("光緒元年初三日");
+        assertEquals("光緒", date.definition().eraName());
+        assertEquals(1, date.year());
+        assertTrue(date.month().isEmpty());
+        assertEquals(3, date.day().orElseThrow());
+        date = converter.parse("永樂五年閏元元月");
+        assertEquals("北宋", date.definition().dynasty());
+        assertEquals(5, date.year());
+        assertTrue(date.month().isEmpty());
+    }
+
+    @Test
+    void candidatesMatchScoringEveryDefinition() {
+        List<String> texts = List.of("明永樂五年", "清乾隆四十五年閏五月", "唐開元天寶間", "光緒元年", "南宋紹興十年金天眷三年",
+                "西漢太初元年", "hello", "元年", "大明洪武");
+        for (String text : texts) {
+            List<EraDefinition> expected = registry.definitions().stream()
+                    .filter(def -> EraConverter.bestMatchLength(def, text) > 0)
+                    .sorted(Comparator
+                            .comparingInt((EraDefinition def) -> -EraConverter.bestMatchLength(def, text))
+                            .thenComparing(EraDefinition::startDate)
+                            .thenComparing(EraDefinition::displayName))
+                    .toList();
+            assertEquals(expected, converter.candidates(text, 0), text);
+        }
+    }
+
     @Test
     void convertToGregorianYear() {
         EraDate eraDate = converter.parse("清乾隆四十五年");
@@ -44,6 +116,9 @@ class EraConverterTest {
         assertEquals(21, ChineseNumberFormatter.parse("二十一"));
         assertEquals(30, ChineseNumberFormatter.parse("卅"));
         assertEquals("一百零二", ChineseNumberFormatter.format(102));
+        assertEquals(ChineseNumberFormatter.INVALID, ChineseNumberFormatter.tryParse("元元"));
+        assertEquals(ChineseNumberFormatter.INVALID, ChineseNumberFormatter.tryParse("99999999999"));
+        assertThrows(IllegalArgumentException.class, () -> ChineseNumberFormatter.parse("二x"));
     }
 
     @Test
@@ -51,4 +126,84 @@ class EraConverterTest {
         assertTrue(registry.findByName("康熙").isPresent());
         assertFalse(registry.findByName("不存在").isPresent());
     }
+
+    @Test
+    void lunarReverseConversionFollowsLunarNewYear() {
+        EraDate lastMonth = converter.toLunarEra(LocalDate.of(1876, 1, 20)).orElseThrow();
+        assertEquals("光緒", lastMonth.definition().eraName());
+        assertEquals(1, lastMonth.year());
+        assertEquals(12, lastMonth.month().orElseThrow());
+        assertEquals(2, converter.toEra(LocalDate.of(1876, 1, 20)).orElseThrow().year());
+
+        EraDate newYear = converter.toLunarEra(LocalDate.of(1876, 1, 26)).orElseThrow();
+        assertEquals(2, newYear.year());
+        assertEquals(1, newYear.month().orElseThrow());
+        assertEquals(1, newYear.day().orElseThrow());
+        assertFalse(newYear.isLeapMonth());
+        assertEquals("清光緒二年一月一日", newYear.toText());
+    }
+
+    @Test
+    void lunarReverseConversionMatchesCalendarAndListsConcurrentRegimes() {
+        // ICU directly, not the bundled table that toLunarEra and EraToolkit.chineseCalendar both read.
+        ChineseCalendar calendar = new ChineseCalendar(TimeZone.GMT_ZONE, ULocale.ROOT);
+        for (LocalDate date = LocalDate.of(1100, 1, 1); date.isBefore(LocalDate.of(1900, 1, 1)); date = date.plusDays(97)) {
+            EraDate eraDate = converter.toLunarEra(date).orElse(null);
+            if (eraDate == null) {
+                continue;
+            }
+            calendar.setTimeInMillis(date.toEpochDay() * 86_400_000L);
+            assertEquals(calendar.get(Calendar.MONTH) + 1, eraDate.month().orElseThrow(), date::toString);
+            assertEquals(calendar.get(Calendar.IS_LEAP_MONTH) == 1, eraDate.isLeapMonth(), date::toString);
+            assertEquals(calendar.get(Calendar.DAY_OF_MONTH), eraDate.day().orElseThrow(), date::toString);
+            assertEquals(eraDate.toText(), converter.toLunarEras(date).getFirst().toText());
+        }
+
+        List<EraDate> concurrent = converter.toLunarEras(LocalDate.of(1140, 6, 1));
+        assertTrue(concurrent.stream().map(date -> date.definition().dynasty()).toList().containsAll(List.of("南宋", "金")));
+        assertTrue(concurrent.stream().allMatch(date -> date.day().isPresent()));
+        assertTrue(converter.toLunarEras(LocalDate.of(2500, 1, 1)).isEmpty());
+    }
+
+    @Test
+    void bulkConversionsMatchObjectApi() {
+        EraSuccession succession = registry.succession();
+        Random random = new Random(48);
+        long first = registry.definitions().getFirst().startDate().toEpochDay() - 400;
+        long span = LocalDate.of(2000, 1, 1).toEpochDay() - first;
+        long[] days = new long[5000];
+        for (int i = 0; i < days.length; i++) {
+            // Runs of nearby days exercise the cached segment and year, jumps the searches.
+            if (i % 50 == 0) {
+                days[i] = first + (long) (random.nextDouble() * span);
+            } else if (i % 7 == 0) {
+                days[i] = LocalDate.of(1662, 1, 1).toEpochDay() + random.nextInt(22_000);
+            } else {
+                days[i] = days[i - 1] + random.nextInt(40);
+            }
+        }
+        int[] ids = converter.toEraIds(days, new int[days.length]);
+        EraConverter dense = new EraConverter(registry.withDayLookup(EraRegistry.DayLookup.DENSE));
+        assertArrayEquals(ids, dense.toEraIds(days, new int[days.length]));
+        int[] years = converter.toEraYears(days, ids, new int[days.length]);
+        int[] gregorian = converter.toGregorianYears(ids, years, new int[days.length]);
+        for (int i = 0; i < days.length; i++) {
+            LocalDate date = LocalDate.ofEpochDay(days[i]);
+            var expected = converter.toEra(date);
+            assertEquals(expected.map(EraDate::definition).orElse(null),
+                    ids[i] < 0 ? null : succession.definition(ids[i]), date::toString);
+            assertEquals(expected.map(EraDate::year).orElse(0), years[i], date::toString);
+            assertEquals(expected.map(converter::toGregorianYear).orElse(0), gregorian[i], date::toString);
+            assertEquals(date.getYear(), EraBulkTable.gregorianYear(days[i]));
+            assertEquals(LocalDate.of(date.getYear(), 1, 1).toEpochDay(), EraBulkTable.firstDayOf(date.getYear()));
+        }
+        int id = succession.idOf(registry.findByName("康熙").orElseThrow());
+        boolean[] inside = converter.contains(id, days, new boolean[days.length]);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(succession.definition(id).contains(LocalDate.ofEpochDay(days[i])), inside[i]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> converter.toEraIds(days, new int[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> converter.toGregorianYears(new int[]{succession.size()}, new int[1], new int[1]));
+    }
 }
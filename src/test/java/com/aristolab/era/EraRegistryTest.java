@@ -0,0 +1,440 @@
+package com.aristolab.era;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EraRegistryTest {
+
+    private static final String COMBINED = "/era/era-definitions.json";
+
+    private final EraRegistry base = EraRegistry.defaultRegistry();
+
+    private static List<Map<String, String>> shardIndex() throws IOException {
+        try (InputStream input = EraRegistryTest.class.getResourceAsStream("/era/dynasties/index.json")) {
+            return EraJsonReader.readFlatObjects(input);
+        }
+    }
+
+    @Test
+    void layeredRegistryAddsOverridesAndRemovesWithoutTouchingBase() {
+        EraDefinition jianwen = new EraConverter(base).parse("明建文元年").definition();
+        EraDefinition corrected = new EraDefinition(jianwen.dynasty(), jianwen.emperor(), jianwen.eraName(),
+                jianwen.aliases(), jianwen.startDate().plusDays(1), jianwen.endDate(), "corrected");
+        EraDefinition regional = new EraDefinition("測試", "某王", "天統", List.of("測天統"),
+                LocalDate.of(1500, 1, 1), LocalDate.of(1502, 12, 31), "");
+        EraRegistry tenant = EraRegistry.layered(base, List.of(corrected, regional), List.of(jianwen));
+
+        assertEquals(base.definitions().size() + 1, tenant.definitions().size());
+        assertFalse(tenant.definitions().contains(jianwen));
+        assertTrue(base.definitions().contains(jianwen));
+        assertEquals(regional, tenant.findByName("測天統").orElseThrow());
+        assertTrue(base.findByName("測天統").isEmpty());
+        assertEquals("corrected", new EraConverter(tenant).parse("明建文二年").definition().notes());
+        assertTrue(tenant.search("某王").contains(regional));
+        assertTrue(tenant.findByDate(LocalDate.of(1501, 6, 1)).isPresent());
+        assertFalse(tenant.definitionsAt(jianwen.startDate()).contains(jianwen));
+        EraRegistry flattened = EraRegistry.of(tenant.definitions());
+        EraRegistry denseTenant = tenant.withDayLookup(EraRegistry.DayLookup.DENSE);
+        for (LocalDate day = LocalDate.of(1390, 1, 1); day.isBefore(LocalDate.of(1510, 1, 1)); day = day.plusDays(11)) {
+            assertEquals(flattened.definitionsAt(day), tenant.definitionsAt(day), day::toString);
+            assertEquals(flattened.definitionsAt(day), denseTenant.definitionsAt(day), day::toString);
+        }
+        for (int i = 1; i < tenant.definitions().size(); i++) {
+            assertFalse(tenant.definitions().get(i).startDate().isBefore(tenant.definitions().get(i - 1).startDate()));
+        }
+    }
+
+    @Test
+    void parsingOnLayerLeavesMergedIndexUnbuilt() {
+        EraDefinition jianwen = new EraConverter(base).parse("明建文元年").definition();
+        EraDefinition regional = new EraDefinition("測試", "某王", "天統", List.of("測天統"),
+                LocalDate.of(1500, 1, 1), LocalDate.of(1502, 12, 31), "");
+        EraRegistry tenant = EraRegistry.layered(base, List.of(regional), List.of(jianwen));
+        EraConverter converter = new EraConverter(tenant);
+        EraConverter flattened = new EraConverter(EraRegistry.of(tenant.definitions()));
+
+        assertEquals(regional, converter.parse("測天統二年").definition());
+        assertEquals(EraParseResult.Error.ERA_NOT_FOUND, converter.tryParse("建文元年").error().orElseThrow());
+        for (String text : List.of("明永樂五年", "唐開元天寶間", "南宋紹興十年金天眷三年", "天統三年", "hello")) {
+            assertEquals(flattened.candidates(text, 0), converter.candidates(text, 0), text);
+        }
+        assertFalse(tenant.hasIndex());
+    }
+
+    @Test
+    void layeredRegistryRejectsUnknownRemovals() {
+        EraDefinition unknown = new EraDefinition("測試", "某王", "天統", List.of(),
+                LocalDate.of(1500, 1, 1), LocalDate.of(1502, 12, 31), "");
+        assertThrows(IllegalArgumentException.class, () -> EraRegistry.layered(base, List.of(), List.of(unknown)));
+    }
+
+    @Test
+    void builderValidatesAndBuildsDefaultCatalogueInOnePass() throws IOException {
+        EraRegistry.Builder builder = EraRegistry.builder();
+        for (Map<String, String> shard : shardIndex()) {
+            builder.addResource(shard.get("resource"));
+        }
+        EraValidationReport report = builder.validate();
+        assertFalse(report.hasErrors(), report::toString);
+        assertEquals(base.definitions().size(), report.definitionCount());
+        assertTrue(report.maxConcurrentEras() > 5);
+        assertTrue(report.peakConcurrencyDate().isPresent());
+        EraRegistry built = builder.build();
+        assertEquals(base.definitions().size(), built.definitions().size());
+        assertEquals(base.findByName("康熙"), built.findByName("康熙"));
+    }
+
+    @Test
+    void builderReportsOverlapsGapsAndDuplicates() {
+        EraDefinition first = new EraDefinition("測試", "甲王", "天統", List.of(),
+                LocalDate.of(1500, 1, 1), LocalDate.of(1502, 12, 31), "");
+        EraDefinition overlapping = new EraDefinition("測試", "甲王", "天寶", List.of("天統"),
+                LocalDate.of(1502, 6, 1), LocalDate.of(1504, 12, 31), "");
+        EraDefinition afterGap = new EraDefinition("測試", "乙王", "天和", List.of(),
+                LocalDate.of(1506, 1, 1), LocalDate.of(1507, 12, 31), "");
+        EraDefinition parallel = new EraDefinition("別國", "丙王", "天統", List.of(),
+                LocalDate.of(1500, 1, 1), LocalDate.of(1507, 12, 31), "");
+        EraValidationReport report = EraRegistry.builder()
+                .addAll(List.of(afterGap, overlapping, first, parallel, first))
+                .validate();
+
+        assertEquals(1, report.issues(EraValidationReport.IssueType.DUPLICATE_DEFINITION).size());
+        EraValidationReport.Issue overlap = report.issues(EraValidationReport.IssueType.OVERLAP).getFirst();
+        assertEquals(overlapping, overlap.definition());
+        assertEquals(first, overlap.relatedDefinition().orElseThrow());
+        EraValidationReport.Issue gap = report.issues(EraValidationReport.IssueType.GAP).getFirst();
+        assertEquals(afterGap, gap.definition());
+        assertTrue(gap.message().startsWith("365 day(s)"), gap.message());
+        assertEquals(List.of(overlapping),
+                report.issues(EraValidationReport.IssueType.DUPLICATE_ALIAS).stream()
+                        .map(EraValidationReport.Issue::definition).toList());
+        assertTrue(report.hasErrors());
+        assertEquals(3, report.maxConcurrentEras());
+    }
+
+    @Test
+    void shardedRegistryLoadsOnlyRequestedDynasties() throws IOException {
+        ShardedEraRegistry shards = ShardedEraRegistry.defaultShards();
+        assertEquals(shardIndex().size(), shards.dynasties().size());
+        EraRegistry ming = shards.dynasty("明").orElseThrow();
+        assertEquals(20, ming.definitions().size());
+        assertTrue(shards.isLoaded("明"));
+        assertFalse(shards.isLoaded("清"));
+        assertTrue(shards.dynasty("不存在").isEmpty());
+
+        EraRegistry songJin = shards.forRange(LocalDate.of(1120, 1, 1), LocalDate.of(1160, 12, 31));
+        assertTrue(shards.isLoaded("北宋") && shards.isLoaded("南宋") && shards.isLoaded("金"));
+        assertFalse(shards.isLoaded("清"));
+        assertTrue(new EraConverter(songJin).parse("南宋紹興十年").definition().dynasty().equals("南宋"));
+
+        EraRegistry all = shards.all();
+        assertEquals(base.definitions().size(), all.definitions().size());
+        assertSame(ming.definitions().getFirst(), all.findByName("洪武").orElseThrow());
+    }
+
+    @Test
+    void shardIndexDescribesEveryShard() throws IOException {
+        List<Map<String, String>> index = shardIndex();
+        int total = 0;
+        for (Map<String, String> entry : index) {
+            String resource = entry.get("resource");
+            List<EraDefinition> shard = EraRegistry.fromResource(resource).definitions();
+            assertFalse(shard.isEmpty(), resource);
+            assertTrue(shard.stream().allMatch(def -> def.dynasty().equals(entry.get("dynasty"))), resource);
+            assertEquals(Integer.parseInt(entry.get("count")), shard.size(), resource);
+            assertEquals(LocalDate.parse(entry.get("startDate")), shard.getFirst().startDate(), resource);
+            assertEquals(LocalDate.parse(entry.get("endDate")),
+                    shard.stream().map(EraDefinition::endDate).max(LocalDate::compareTo).orElseThrow(), resource);
+            total += shard.size();
+        }
+        assertEquals(index.size(), index.stream().map(entry -> entry.get("dynasty")).distinct().count());
+        assertEquals(EraRegistry.fromResource(COMBINED).definitions().size(), total);
+    }
+
+    @Test
+    void shardsAreGeneratedFromCombinedResource() throws IOException {
+        for (Map.Entry<String, String> file : EraShardGenerator.generate().entrySet()) {
+            try (InputStream input = EraRegistryTest.class.getResourceAsStream(file.getKey())) {
+                assertNotNull(input, file.getKey());
+                assertEquals(file.getValue(), new String(input.readAllBytes(), StandardCharsets.UTF_8),
+                        () -> file.getKey() + " is out of date; run EraShardGenerator");
+            }
+        }
+        assertEquals(EraRegistry.fromResource(COMBINED).definitions(),
+                ShardedEraRegistry.defaultShards().all().definitions());
+    }
+
+    @Test
+    void shardedCatalogueResolvesLikeCombinedResource() {
+        EraRegistry combined = EraRegistry.fromResource(COMBINED);
+        assertEquals(combined.definitions(), base.definitions());
+        for (EraDefinition definition : combined.definitions()) {
+            for (String name : definition.aliases()) {
+                assertEquals(combined.findByName(name), base.findByName(name), name);
+            }
+            assertEquals(combined.findByName(definition.eraName()), base.findByName(definition.eraName()));
+        }
+        // Eras starting on the same day resolve to the one listed first in the catalogue.
+        assertEquals("後唐", base.findByName("同光").orElseThrow().dynasty());
+        assertEquals("後唐", base.findByName("長興").orElseThrow().dynasty());
+    }
+
+    @Test
+    void denseDayLookupMatchesSegments() {
+        EraRegistry segments = EraRegistry.defaultRegistry();
+        EraRegistry dense = segments.withDayLookup(EraRegistry.DayLookup.DENSE);
+        assertEquals(EraRegistry.DayLookup.DENSE, dense.dayLookup());
+        assertSame(dense, dense.withDayLookup(EraRegistry.DayLookup.DENSE));
+        long first = segments.definitions().getFirst().startDate().toEpochDay() - 3;
+        long last = segments.definitions().stream().mapToLong(def -> def.endDate().toEpochDay()).max().orElseThrow() + 3;
+        for (long day = first; day <= last; day++) {
+            assertEquals(segments.definitionsAt(day), dense.definitionsAt(day));
+        }
+        // Two bytes per day from the first start to the last end, the three padding days on each side excluded.
+        assertEquals(2L * (last - first - 5), dense.index().intervals().dayTable().memoryBytes());
+        assertTrue(dense.index().intervals().dayTable().memoryBytes() < 2_000_000);
+
+        EraDefinition extra = new EraDefinition("測試", "某王", "未來", List.of(),
+                LocalDate.of(2100, 1, 1), LocalDate.of(2100, 12, 31), "");
+        EraRegistry built = EraRegistry.builder().addAll(segments.definitions()).add(extra)
+                .dayLookup(EraRegistry.DayLookup.DENSE).build();
+        assertEquals(extra, built.findByDate(LocalDate.of(2100, 6, 1)).orElseThrow());
+        assertTrue(built.findByDate(LocalDate.of(2050, 6, 1)).isEmpty());
+        assertEquals(EraRegistry.DayLookup.DENSE,
+                EraRegistry.layered(built, List.of(), List.of(extra)).dayLookup());
+
+        EraDefinition distant = new EraDefinition("測試", "某王", "遠來", List.of(),
+                LocalDate.of(99_999, 1, 1), LocalDate.of(99_999, 12, 31), "");
+        EraRegistry wide = EraRegistry.builder().addAll(segments.definitions()).add(distant)
+                .dayLookup(EraRegistry.DayLookup.DENSE).build();
+        assertNull(wide.index().intervals().dayTable());
+        assertEquals(distant, wide.findByDate(LocalDate.of(99_999, 6, 1)).orElseThrow());
+        assertEquals("永樂", wide.findByDate(LocalDate.of(1410, 1, 1)).orElseThrow().eraName());
+        long[] days = {LocalDate.of(1410, 1, 1).toEpochDay(), LocalDate.of(99_999, 6, 1).toEpochDay()};
+        int[] ids = new EraConverter(wide).toEraIds(days, new int[2]);
+        assertEquals(distant, wide.succession().definition(ids[1]));
+    }
+
+    @Test
+    void bitmapQueriesMatchBruteForce() {
+        EraRegistry registry = EraRegistry.defaultRegistry();
+        List<EraDefinition> all = registry.definitions().stream().distinct().toList();
+        Random random = new Random(43);
+        for (int i = 0; i < 300; i++) {
+            EraDefinition pick = all.get(random.nextInt(all.size()));
+            EraDefinition other = all.get(random.nextInt(all.size()));
+            EraQuery query = registry.query();
+            Predicate<EraDefinition> expected = def -> true;
+            if (random.nextBoolean()) {
+                query.dynasty(pick.dynasty(), other.dynasty());
+                expected = expected.and(def -> def.dynasty().equals(pick.dynasty())
+                        || def.dynasty().equals(other.dynasty()));
+            }
+            if (random.nextInt(4) == 0) {
+                query.emperor(pick.emperor());
+                expected = expected.and(def -> def.emperor().equals(pick.emperor()));
+            }
+            if (random.nextBoolean()) {
+                LocalDate start = pick.startDate().plusDays(random.nextInt(2000) - 1000);
+                LocalDate end = start.plusDays(random.nextInt(20_000));
+                query.overlapping(start, end);
+                expected = expected.and(def -> !def.startDate().isAfter(end) && !def.endDate().isBefore(start));
+            }
+            if (random.nextInt(3) == 0) {
+                long min = random.nextInt(2000);
+                long max = min + random.nextInt(5000);
+                query.lengthInDays(min, max);
+                expected = expected.and(def -> {
+                    long length = def.endDate().toEpochDay() - def.startDate().toEpochDay() + 1;
+                    return length >= min && length <= max;
+                });
+            }
+            if (random.nextInt(3) == 0) {
+                boolean notes = random.nextBoolean();
+                query.hasNotes(notes);
+                expected = expected.and(def -> def.notes().isEmpty() != notes);
+            }
+            if (random.nextInt(3) == 0) {
+                String text = pick.eraName().substring(random.nextInt(pick.eraName().length()));
+                query.nameContains(text);
+                expected = expected.and(def -> def.displayName().contains(text)
+                        || def.aliases().stream().anyMatch(alias -> alias.contains(text)));
+            }
+            List<EraDefinition> brute = all.stream().filter(expected).toList();
+            assertEquals(brute, query.list(), () -> "query " + pick);
+            assertEquals(brute.size(), query.count());
+        }
+        assertTrue(registry.query().dynasty("不存在").list().isEmpty());
+        assertTrue(registry.query().nameContains("ẞ").list().isEmpty());
+    }
+
+    @Test
+    void notesSearchMatchesFullScan() {
+        EraRegistry registry = EraRegistry.defaultRegistry();
+        List<EraDefinition> all = registry.definitions().stream().distinct().toList();
+        Random random = new Random(44);
+        for (int i = 0; i < 200; i++) {
+            String notes = all.get(random.nextInt(all.size())).notes();
+            if (notes.isEmpty()) {
+                continue;
+            }
+            int start = random.nextInt(notes.length());
+            String term = notes.substring(start, Math.min(notes.length(), start + 1 + random.nextInt(4))).strip();
+            if (term.isEmpty() || term.chars().anyMatch(Character::isWhitespace)) {
+                continue;
+            }
+            List<EraNoteMatch> matches = registry.searchNotes(term, 0);
+            List<EraDefinition> expected = all.stream().filter(def -> def.notes().contains(term)).toList();
+            assertEquals(expected.size(), matches.size(), term);
+            for (int j = 0; j < matches.size(); j++) {
+                EraNoteMatch match = matches.get(j);
+                assertTrue(expected.contains(match.definition()));
+                for (int offset : match.offsets()) {
+                    assertTrue(match.definition().notes().startsWith(term, offset));
+                }
+                if (j > 0) {
+                    assertTrue(matches.get(j - 1).offsets().size() >= match.offsets().size());
+                }
+            }
+        }
+        List<EraNoteMatch> both = registry.searchNotes("崇玄曆  劉龑", 5);
+        assertFalse(both.isEmpty());
+        assertTrue(both.size() <= 5);
+        assertTrue(both.stream().allMatch(match -> match.definition().notes().contains("崇玄曆")
+                && match.definition().notes().contains("劉龑")));
+        assertTrue(registry.searchNotes("不可能出現的註", 0).isEmpty());
+        assertTrue(registry.searchNotes(" ", 0).isEmpty());
+    }
+
+    @Test
+    void successionMatchesBruteForce() {
+        EraRegistry registry = EraRegistry.defaultRegistry();
+        EraSuccession succession = registry.succession();
+        List<EraDefinition> all = registry.definitions();
+        assertEquals(all.size(), succession.size());
+        for (int id = 0; id < all.size(); id++) {
+            EraDefinition definition = all.get(id);
+            int original = succession.idOf(definition);
+            if (original != id) {
+                assertEquals(succession.previous(original), succession.previous(id));
+                assertEquals(succession.next(original), succession.next(id));
+                assertEquals(succession.reign(original), succession.reign(id));
+                assertEquals(succession.concurrent(original), succession.concurrent(id));
+                continue;
+            }
+            List<EraDefinition> sameDynasty = all.stream().distinct()
+                    .filter(def -> def.dynasty().equals(definition.dynasty())).toList();
+            int position = sameDynasty.indexOf(definition);
+            int previous = succession.previous(id);
+            int next = succession.next(id);
+            assertEquals(position == 0 ? null : sameDynasty.get(position - 1),
+                    previous < 0 ? null : succession.definition(previous));
+            assertEquals(position == sameDynasty.size() - 1 ? null : sameDynasty.get(position + 1),
+                    next < 0 ? null : succession.definition(next));
+            assertEquals(sameDynasty.stream().filter(def -> def.emperor().equals(definition.emperor())).toList(),
+                    succession.reign(id));
+            assertEquals(all.stream().distinct()
+                    .filter(def -> !def.dynasty().equals(definition.dynasty()))
+                    .filter(def -> !def.startDate().isAfter(definition.endDate())
+                            && !def.endDate().isBefore(definition.startDate()))
+                    .toList(), succession.concurrent(id));
+        }
+        EraDefinition yongle = all.stream()
+                .filter(def -> def.dynasty().equals("明") && def.eraName().equals("永樂"))
+                .findFirst().orElseThrow();
+        int id = succession.idOf(yongle);
+        // The catalogue restores 洪武 for 1402 after 建文 was abolished.
+        assertEquals("洪武", succession.definition(succession.previous(id)).eraName());
+        assertEquals("洪熙", succession.definition(succession.next(id)).eraName());
+        assertFalse(succession.reignEnd(id).isBefore(succession.reignStart(id)));
+        assertThrows(IllegalArgumentException.class, () -> succession.next(-1));
+
+        EraSuccession twice = EraRegistry.builder().add(yongle).add(yongle).build().succession();
+        assertEquals(2, twice.size());
+        assertEquals(List.of(yongle), twice.reign(1));
+        assertEquals(yongle.startDate(), twice.reignStart(1));
+        assertEquals(yongle.endDate(), twice.reignEnd(1));
+    }
+
+    @Test
+    void rangeQueriesMatchBruteForce() {
+        List<EraSegment> segments = base.segments(LocalDate.of(1120, 1, 1), LocalDate.of(1160, 12, 31));
+        assertEquals(LocalDate.of(1120, 1, 1), segments.getFirst().start());
+        assertEquals(LocalDate.of(1160, 12, 31), segments.getLast().end());
+        for (int i = 0; i < segments.size(); i++) {
+            EraSegment segment = segments.get(i);
+            List<EraDefinition> atStart = base.definitions().stream().filter(def -> def.contains(segment.start())).toList();
+            List<EraDefinition> atEnd = base.definitions().stream().filter(def -> def.contains(segment.end())).toList();
+            assertEquals(atStart, segment.eras());
+            assertEquals(atEnd, segment.eras());
+            if (i > 0) {
+                assertEquals(segments.get(i - 1).end().plusDays(1), segment.start());
+                assertNotEquals(segments.get(i - 1).eras(), segment.eras());
+            }
+        }
+        assertTrue(segments.stream().anyMatch(segment -> segment.dynasties().containsAll(List.of("南宋", "金"))));
+
+        Random random = new Random(35);
+        for (int i = 0; i < 300; i++) {
+            LocalDate start = LocalDate.ofEpochDay(LocalDate.of(-250, 1, 1).toEpochDay() + random.nextInt(800_000));
+            LocalDate end = start.plusDays(random.nextInt(i % 2 == 0 ? 400 : 40_000));
+            assertCountsMatchBruteForce(start, end);
+            assertEquals(base.definitions().stream().filter(def -> def.contains(start)).toList(),
+                    base.definitionsAt(start));
+        }
+        // Ranges touching or inside a dynasty gap, where the gap separates no two intersecting runs.
+        assertEquals(0, base.dynastyCount(LocalDate.of(42, 2, 9), LocalDate.of(56, 5, 3)));
+        assertEquals(2, base.dynastyCount(LocalDate.of(238, 8, 28), LocalDate.of(240, 2, 9)));
+        for (long[] gap : dynastyGaps()) {
+            for (long[] range : new long[][]{{gap[0], gap[1]}, {gap[0] + 1, gap[1] - 1}, {gap[0] - 1, gap[1]},
+                    {gap[0], gap[1] + 1}, {gap[0] - 1, gap[1] + 1}, {gap[0] - 30, gap[0]}, {gap[1], gap[1] + 30}}) {
+                if (range[0] <= range[1]) {
+                    assertCountsMatchBruteForce(LocalDate.ofEpochDay(range[0]), LocalDate.ofEpochDay(range[1]));
+                }
+            }
+        }
+        assertEquals(0, base.eraCount(LocalDate.of(3000, 1, 1), LocalDate.of(3100, 1, 1)));
+        assertTrue(base.segments(LocalDate.of(3000, 1, 1), LocalDate.of(3100, 1, 1)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> base.segments(LocalDate.of(1200, 1, 1), LocalDate.of(1100, 1, 1)));
+    }
+
+    private void assertCountsMatchBruteForce(LocalDate start, LocalDate end) {
+        List<EraDefinition> expected = base.definitions().stream()
+                .filter(def -> !def.startDate().isAfter(end) && !def.endDate().isBefore(start))
+                .toList();
+        assertEquals(expected.size(), base.eraCount(start, end), () -> start + ".." + end);
+        assertEquals(expected.stream().map(EraDefinition::dynasty).distinct().count(),
+                base.dynastyCount(start, end), () -> start + ".." + end);
+    }
+
+    /**
+     * Days, per dynasty, between two of its eras that no era of the dynasty covers, as {@code [first, last]}.
+     */
+    private List<long[]> dynastyGaps() {
+        List<long[]> gaps = new ArrayList<>();
+        base.definitions().stream().collect(Collectors.groupingBy(EraDefinition::dynasty)).values().forEach(eras -> {
+            long covered = Long.MIN_VALUE;
+            for (EraDefinition era : eras.stream().sorted(Comparator.comparing(EraDefinition::startDate)).toList()) {
+                long start = era.startDate().toEpochDay();
+                if (covered != Long.MIN_VALUE && start > covered + 1) {
+                    gaps.add(new long[]{covered + 1, start - 1});
+                }
+                covered = Math.max(covered, era.endDate().toEpochDay());
+            }
+        });
+        return gaps;
+    }
+}
@@ -0,0 +1,129 @@
+package com.aristolab.era;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.icu.text.Transliterator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives the per-dynasty shards and their {@code index.json} from {@code /era/era-definitions.json}, the single
+ * source of the catalogue. {@link EraRegistryTest} checks that the bundled shards match this output; after
+ * editing the combined file, run {@link #main(String[])} from the project root to rewrite them.
+ * <p>
+ * Shards are named after the pinyin of their dynasty, with the dynasty's first year appended when two
+ * dynasties share a name. Every entry carries its position in the combined file as {@code "ordinal"}, which
+ * {@link ShardedEraRegistry} uses to keep the catalogue order of eras starting on the same day.
+ */
+final class EraShardGenerator {
+
+    private static final String COMBINED = "/era/era-definitions.json";
+    private static final String DIRECTORY = "/era/dynasties/";
+    private static final String INDEX = DIRECTORY + "index.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private EraShardGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resources = Path.of(args.length > 0 ? args[0] : "src/main/resources");
+        for (Map.Entry<String, String> file : generate().entrySet()) {
+            Files.writeString(resources.resolve(file.getKey().substring(1)), file.getValue(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Resource path to content of every shard and of the index, in index order.
+     */
+    static Map<String, String> generate() throws IOException {
+        JsonNode catalogue;
+        try (InputStream input = EraShardGenerator.class.getResourceAsStream(COMBINED)) {
+            catalogue = MAPPER.readTree(input);
+        }
+        Map<String, List<Integer>> byDynasty = new LinkedHashMap<>();
+        for (int ordinal = 0; ordinal < catalogue.size(); ordinal++) {
+            byDynasty.computeIfAbsent(catalogue.get(ordinal).get("dynasty").asText(), key -> new ArrayList<>())
+                    .add(ordinal);
+        }
+        Transliterator pinyin = Transliterator.getInstance("Han-Latin; Latin-ASCII; Lower");
+        Map<String, Integer> slugCounts = new HashMap<>();
+        byDynasty.keySet().forEach(dynasty -> slugCounts.merge(slug(pinyin, dynasty), 1, Integer::sum));
+
+        Map<String, String> files = new LinkedHashMap<>();
+        StringBuilder index = new StringBuilder("[");
+        for (Map.Entry<String, List<Integer>> dynasty : byDynasty.entrySet()) {
+            List<Integer> ordinals = dynasty.getValue();
+            JsonNode first = catalogue.get(ordinals.getFirst());
+            LocalDate start = LocalDate.parse(first.get("startDate").asText());
+            LocalDate end = LocalDate.parse(first.get("endDate").asText());
+            StringBuilder shard = new StringBuilder("[");
+            for (int ordinal : ordinals) {
+                JsonNode entry = catalogue.get(ordinal);
+                LocalDate entryStart = LocalDate.parse(entry.get("startDate").asText());
+                LocalDate entryEnd = LocalDate.parse(entry.get("endDate").asText());
+                start = entryStart.isBefore(start) ? entryStart : start;
+                end = entryEnd.isAfter(end) ? entryEnd : end;
+                shard.append(shard.length() > 1 ? ",\n" : "\n").append("  {\n    \"ordinal\": ").append(ordinal);
+                for (Iterator<Map.Entry<String, JsonNode>> fields = entry.fields(); fields.hasNext(); ) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    shard.append(",\n    ").append(quote(field.getKey())).append(": ");
+                    appendValue(shard, field.getValue());
+                }
+                shard.append("\n  }");
+            }
+            shard.append("\n]");
+
+            String slug = slug(pinyin, dynasty.getKey());
+            if (slugCounts.get(slug) > 1) {
+                slug += "-" + LocalDate.parse(first.get("startDate").asText()).getYear();
+            }
+            String resource = DIRECTORY + slug + ".json";
+            files.put(resource, shard.toString());
+            index.append(index.length() > 1 ? ",\n" : "\n")
+                    .append("  {\n    \"dynasty\": ").append(quote(dynasty.getKey()))
+                    .append(",\n    \"resource\": ").append(quote(resource))
+                    .append(",\n    \"startDate\": ").append(quote(start.toString()))
+                    .append(",\n    \"endDate\": ").append(quote(end.toString()))
+                    .append(",\n    \"count\": ").append(ordinals.size())
+                    .append("\n  }");
+        }
+        files.put(INDEX, index.append("\n]").toString());
+        return files;
+    }
+
+    private static String slug(Transliterator pinyin, String dynasty) {
+        return pinyin.transliterate(dynasty).strip().replaceAll("[^a-z0-9]+", "-");
+    }
+
+    private static void appendValue(StringBuilder out, JsonNode value) throws IOException {
+        if (!value.isArray()) {
+            out.append(MAPPER.writeValueAsString(value));
+            return;
+        }
+        if (value.isEmpty()) {
+            out.append("[]");
+            return;
+        }
+        out.append('[');
+        for (int i = 0; i < value.size(); i++) {
+            out.append(i > 0 ? ",\n      " : "\n      ").append(MAPPER.writeValueAsString(value.get(i)));
+        }
+        out.append("\n    ]");
+    }
+
+    private static String quote(String text) throws IOException {
+        return MAPPER.writeValueAsString(text);
+    }
+}
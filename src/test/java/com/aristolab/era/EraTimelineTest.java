@@ -0,0 +1,81 @@
+package com.aristolab.era;
+
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.ChineseCalendar;
+import com.ibm.icu.util.TimeZone;
+import com.ibm.icu.util.ULocale;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EraTimelineTest {
+
+    private final EraRegistry registry = EraRegistry.defaultRegistry();
+    private final EraToolkit toolkit = new EraToolkit(registry);
+
+    @Test
+    void lunarTableMatchesIcu() {
+        LunarCalendarTable table = LunarCalendarTable.instance();
+        ChineseCalendar calendar = new ChineseCalendar(TimeZone.GMT_ZONE, ULocale.ROOT);
+        for (long step = LocalDate.of(-100, 3, 1).toEpochDay(); step < LocalDate.of(1950, 1, 1).toEpochDay(); step += 997) {
+            long day = step;
+            calendar.setTimeInMillis(day * 86_400_000L);
+            int month = table.monthIndex(day);
+            assertEquals(calendar.get(Calendar.MONTH) + 1, table.month(month), () -> LocalDate.ofEpochDay(day).toString());
+            assertEquals(calendar.get(Calendar.DAY_OF_MONTH), table.dayOfMonth(day, month));
+            assertEquals(calendar.get(ChineseCalendar.IS_LEAP_MONTH) == 1, table.isLeapMonth(month));
+        }
+    }
+
+    @Test
+    void generatesYearMonthAndDayPoints() {
+        EraDefinition first = registry.findByName("永樂").orElseThrow();
+        long days = first.endDate().toEpochDay() - first.startDate().toEpochDay() + 1;
+        assertEquals(days, toolkit.epochDays("永樂", EraTimeline.Granularity.DAY).count());
+        assertEquals(first.startDate().toEpochDay(),
+                toolkit.epochDays("永樂", EraTimeline.Granularity.DAY).findFirst().orElseThrow());
+
+        EraDefinition yongle = toolkit.nodeEra("明永樂元年").definition();
+
+        List<EraTimeline.Entry> years = EraTimeline.entries(List.of(yongle), EraTimeline.Granularity.YEAR).toList();
+        // The era ends on the eve of the historical new year, which the astronomical table may place a day earlier.
+        assertTrue(years.size() == 22 || years.size() == 23, () -> "years=" + years.size());
+        for (int i = 0; i < years.size(); i++) {
+            assertEquals(i + 1, years.get(i).eraDate().year());
+        }
+        assertEquals(1, years.get(5).eraDate().month().orElseThrow());
+        assertEquals(1, years.get(5).eraDate().day().orElseThrow());
+
+        long months = EraTimeline.epochDays(yongle, EraTimeline.Granularity.LUNAR_MONTH).count();
+        assertTrue(months > 22 * 12 && months < 23 * 13, () -> "months=" + months);
+        assertEquals(0, toolkit.epochDays("不存在", EraTimeline.Granularity.DAY).count());
+    }
+
+    @Test
+    void parallelStreamsMatchSequentialOrder() {
+        List<Long> sequential = toolkit.dynastyEpochDays("明", EraTimeline.Granularity.LUNAR_MONTH).boxed().toList();
+        List<Long> parallel = toolkit.dynastyEpochDays("明", EraTimeline.Granularity.LUNAR_MONTH)
+                .parallel().boxed().collect(Collectors.toList());
+        assertEquals(sequential, parallel);
+        long total = toolkit.dynastyEpochDays("明", EraTimeline.Granularity.DAY).parallel().sum();
+        assertEquals(toolkit.dynastyEpochDays("明", EraTimeline.Granularity.DAY).sum(), total);
+    }
+
+    @Test
+    void labelsEveryDayLazily() {
+        long expected = registry.definitions().stream()
+                .mapToLong(def -> def.endDate().toEpochDay() - def.startDate().toEpochDay() + 1)
+                .sum();
+        long firstDays = toolkit.timeline(EraTimeline.Granularity.DAY)
+                .parallel()
+                .filter(entry -> entry.eraDate().day().orElseThrow() == 1)
+                .count();
+        long labelled = toolkit.timeline(EraTimeline.Granularity.DAY).parallel().mapToInt(entry -> 1).count();
+        assertEquals(expected, labelled);
+        assertTrue(firstDays > expected / 31 && firstDays < expected / 28, () -> "firstDays=" + firstDays);
+    }
+}
@@ -3,10 +3,17 @@ package com.aristolab.era;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -81,6 +88,17 @@ class EraToolkitTest {
         assertEquals(LocalDate.of(1368, 1, 23), dates.getFirst());
     }
 
+    @Test
+    void sharesDerivedViewsAcrossCalls() {
+        assertSame(toolkit.periods(), toolkit.periods());
+        assertSame(toolkit.eraListPattern(), toolkit.eraListPattern());
+        assertSame(toolkit.dateOfCEYear(1370), toolkit.dateOfCEYear(1370));
+        assertEquals(List.of(hongwu), toolkit.dateOfCEYear(1370));
+        assertEquals(List.of(), toolkit.dateOfCEYear(1200));
+        assertEquals(List.of(hongwu, jianwen), toolkit.forDynasty(" 明 "));
+        assertEquals(31, toolkit.dates("太祖洪武").size());
+    }
+
     @Test
     void supportsNameFormattingUtilities() {
         String joined = toolkit.concatName(List.of("大明", "洪武", "十五年"));
@@ -107,6 +125,29 @@ class EraToolkitTest {
         assertEquals("開國之年", toolkit.noteNode(hongwu).orElse(null));
     }
 
+    @Test
+    void streamsEscapedHtmlIntoAppendables() throws Exception {
+        EraDefinition quoted = new EraDefinition("<明>", "朱\"元\"璋", "洪武", List.of(),
+                LocalDate.of(1368, 1, 23), LocalDate.of(1398, 2, 12), "");
+        EraDate date = new EraDate(quoted, 15, 8, 3);
+        StringBuilder out = new StringBuilder();
+        toolkit.writeHtml(date, out);
+        assertEquals("<span class=\"era\" data-dynasty=\"&lt;明&gt;\" data-era=\"洪武\">"
+                + "&lt;明&gt;洪武十五年八月三日</span>", out.toString());
+
+        EraHtmlTemplate template = EraHtmlTemplate.builder()
+                .cssClass("era mention")
+                .dynastyAttribute(null)
+                .emperorAttribute("data-emperor")
+                .gregorianDateAttribute("data-date")
+                .build();
+        StringWriter writer = new StringWriter();
+        toolkit.writeHtml(new EraDate(hongwu, 15, 8, 3), template, writer);
+        assertEquals("<span class=\"era mention\" data-era=\"洪武\" data-emperor=\"朱元璋\" data-date=\"1382-08-03\">"
+                + "明洪武十五年八月三日</span>", writer.toString());
+        assertThrows(IllegalArgumentException.class, () -> EraHtmlTemplate.builder().eraAttribute("a\"b").build());
+    }
+
     @Test
     void convertsToChineseCalendar() {
         String lunar = toolkit.chineseCalendar(LocalDate.of(2024, 2, 10));
@@ -120,4 +161,37 @@ class EraToolkitTest {
         assertEquals(2, nodes.size());
         assertEquals(2, nodes.get(1).year());
     }
+
+    @Test
+    void warmUpCompletesReadiness() throws Exception {
+        CompletableFuture<Duration> readiness = toolkit.readiness();
+        assertFalse(readiness.isDone());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Duration elapsed = toolkit.warmUpAsync(executor).get(30, TimeUnit.SECONDS);
+            assertEquals(elapsed, readiness.get());
+            assertTrue(toolkit.readiness().isDone());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1382, toolkit.toGregorian(toolkit.toEraDate("明洪武十五年八月初三日")).getYear());
+    }
+
+    @Test
+    void warmUpAfterFailureResetsReadiness() {
+        // Year 99999 has no Chinese numeral form, so every warm-up fails while writing the corpus.
+        EraDefinition distant = new EraDefinition("測試", "某王", "遠來", List.of(),
+                LocalDate.of(99_999, 1, 1), LocalDate.of(99_999, 12, 31), "");
+        EraToolkit failing = new EraToolkit(EraRegistry.of(List.of(distant)));
+        assertThrows(IllegalArgumentException.class, failing::warmUp);
+        assertTrue(failing.readiness().isCompletedExceptionally());
+
+        List<Runnable> queued = new ArrayList<>();
+        CompletableFuture<Duration> retry = failing.warmUpAsync(queued::add);
+        assertFalse(retry.isDone());
+        assertFalse(failing.readiness().isDone());
+        queued.getFirst().run();
+        assertTrue(retry.isCompletedExceptionally());
+        assertTrue(failing.readiness().isCompletedExceptionally());
+    }
 }
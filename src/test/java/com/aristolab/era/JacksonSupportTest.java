@@ -1,13 +1,24 @@
 package com.aristolab.era;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JacksonSupportTest {
 
@@ -19,5 +30,57 @@ class JacksonSupportTest {
         Map<String, LocalDate> decoded = mapper.readValue(json, new TypeReference<>() {});
         assertEquals(expected, decoded.get("date"));
     }
-}
 
+    @Test
+    void mapperFallsBackWhenJavaTimeModuleIsMissing() throws Exception {
+        // Only this project, databind, core and annotations: jackson-datatype-jsr310 is not visible.
+        URL[] path = {
+                location(JacksonSupport.class), location(ObjectMapper.class),
+                location(JsonFactory.class), location(JsonCreator.class)};
+        try (URLClassLoader loader = new URLClassLoader(path, ClassLoader.getPlatformClassLoader())) {
+            assertThrows(ClassNotFoundException.class,
+                    () -> loader.loadClass("com.fasterxml.jackson.datatype.jsr310.JavaTimeModule"));
+            Method mapper = loader.loadClass(JacksonSupport.class.getName()).getDeclaredMethod("mapper");
+            mapper.setAccessible(true);
+            Object isolated = mapper.invoke(null);
+            Method write = isolated.getClass().getMethod("writeValueAsString", Object.class);
+            String json = (String) write.invoke(isolated, LocalDate.of(1644, 1, 1));
+            assertEquals("\"1644-01-01\"", json);
+            Method read = isolated.getClass().getMethod("readValue", String.class, Class.class);
+            assertEquals(LocalDate.of(1644, 1, 1), read.invoke(isolated, json, LocalDate.class));
+            assertTrue(isolated.getClass().getClassLoader() == loader);
+        }
+    }
+
+    @Test
+    void streamingReaderMatchesDataBinding() throws Exception {
+        EraRegistry registry = EraRegistry.defaultRegistry();
+        List<EraDefinition> sample = registry.definitions().subList(0, 50);
+        String json = new EraToolkit(registry).pack(sample);
+        List<EraDefinition> bound = JacksonSupport.mapper().readValue(json, new TypeReference<>() {});
+        List<EraDefinition> streamed = EraJsonReader.readDefinitions(stream(json));
+        assertEquals(bound, streamed);
+        for (int i = 0; i < bound.size(); i++) {
+            assertEquals(bound.get(i).aliases(), streamed.get(i).aliases());
+            assertEquals(bound.get(i).notes(), streamed.get(i).notes());
+        }
+    }
+
+    @Test
+    void streamingReaderRejectsIncompleteDefinitions() {
+        assertThrows(IOException.class, () -> EraJsonReader.readDefinitions(stream(
+                "[{\"dynasty\":\"明\",\"emperor\":\"太祖\",\"eraName\":\"洪武\",\"startDate\":\"1368-01-23\"}]")));
+        assertThrows(IOException.class, () -> EraJsonReader.readDefinitions(stream(
+                "[{\"dynasty\":\"明\",\"emperor\":\"太祖\",\"eraName\":\"洪武\",\"startDate\":\"1368-01-23\","
+                        + "\"endDate\":\"1300-01-01\"}]")));
+        assertThrows(IOException.class, () -> EraJsonReader.readDefinitions(stream("{}")));
+    }
+
+    private static URL location(Class<?> type) {
+        return type.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
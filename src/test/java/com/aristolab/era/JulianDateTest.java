@@ -0,0 +1,75 @@
+package com.aristolab.era;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JulianDateTest {
+
+    @Test
+    void matchesJdkJulianCalendarAcrossCatalogueRange() {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.setGregorianChange(new Date(Long.MAX_VALUE));
+        calendar.clear();
+        calendar.set(Calendar.ERA, GregorianCalendar.BC);
+        calendar.set(105, Calendar.JANUARY, 1);
+        long last = LocalDate.of(1912, 12, 31).toEpochDay();
+        for (long epochDay = Math.floorDiv(calendar.getTimeInMillis(), 86_400_000L); epochDay <= last; epochDay++) {
+            int year = calendar.get(Calendar.ERA) == GregorianCalendar.BC
+                    ? 1 - calendar.get(Calendar.YEAR)
+                    : calendar.get(Calendar.YEAR);
+            int month = calendar.get(Calendar.MONTH) + 1;
+            int day = calendar.get(Calendar.DAY_OF_MONTH);
+            JulianDate julian = JulianDate.ofEpochDay(epochDay);
+            long day0 = epochDay;
+            assertEquals(year, julian.year(), () -> "epochDay " + day0);
+            assertEquals(month, julian.month());
+            assertEquals(day, julian.day());
+            assertEquals(epochDay, JulianDate.toEpochDay(year, month, day));
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    void convertsKnownDates() {
+        assertEquals(LocalDate.of(1582, 10, 15), JulianDate.of(1582, 10, 5).toLocalDate());
+        assertEquals(JulianDate.of(1582, 10, 4), JulianDate.from(LocalDate.of(1582, 10, 14)));
+        assertEquals(2_451_545L, JulianDate.julianDayOf(LocalDate.of(2000, 1, 1)));
+        assertEquals(1_721_424L, JulianDate.of(1, 1, 1).toJulianDay());
+        assertEquals(0L, JulianDate.of(-4712, 1, 1).toJulianDay());
+        assertEquals(LocalDate.of(-104, 2, 22), JulianDate.parse("-0104-02-25").toLocalDate());
+        assertEquals("-0104-02-24", JulianDate.parse("-0104-02-24").toString());
+        assertEquals(JulianDate.of(1, 1, 1), JulianDate.ofJulianDay(1_721_424L));
+        assertTrue(JulianDate.of(1500, 2, 29).compareTo(JulianDate.of(1500, 3, 1)) < 0);
+        assertThrows(IllegalArgumentException.class, () -> JulianDate.of(1501, 2, 29));
+        assertThrows(IllegalArgumentException.class, () -> JulianDate.parse("1500-13-01"));
+        assertThrows(IllegalArgumentException.class, () -> JulianDate.parse("15000301"));
+    }
+
+    @Test
+    void convertsEraDatesThroughJulianCalendar() {
+        EraRegistry registry = EraRegistry.defaultRegistry();
+        EraConverter converter = new EraConverter(registry);
+        for (EraDefinition definition : registry.definitions()) {
+            JulianDate start = JulianDate.from(definition.startDate());
+            assertEquals(registry.findByDate(definition.startDate()), registry.findByJulianDay(start.toJulianDay()));
+            assertEquals(registry.findByDate(definition.startDate()), registry.findByDate(start));
+            assertEquals(converter.toLunarEra(definition.startDate()).orElseThrow().toText(),
+                    converter.toLunarEra(start).orElseThrow().toText());
+            assertEquals(converter.toLunarEras(definition.endDate()).size(),
+                    converter.toLunarEras(JulianDate.from(definition.endDate())).size());
+        }
+        EraDate eraDate = converter.parse("明永樂五年二月初十日");
+        assertEquals(JulianDate.from(converter.toGregorianDate(eraDate)), converter.toJulianDate(eraDate));
+        assertEquals(converter.toEra(LocalDate.of(1407, 5, 1)).orElseThrow().toText(),
+                converter.toEra(JulianDate.from(LocalDate.of(1407, 5, 1))).orElseThrow().toText());
+        assertEquals(converter.toLunarEra(LocalDate.of(1407, 5, 1)).orElseThrow().toText(),
+                converter.toLunarEraAtJulianDay(JulianDate.julianDayOf(LocalDate.of(1407, 5, 1))).orElseThrow().toText());
+    }
+}
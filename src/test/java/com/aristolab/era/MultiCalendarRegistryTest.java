@@ -0,0 +1,72 @@
+package com.aristolab.era;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiCalendarRegistryTest {
+
+    private static final EraRegistry JAPANESE = EraRegistry.of(List.of(
+            new EraDefinition("日本", "明治天皇", "明治", List.of(),
+                    LocalDate.of(1868, 10, 23), LocalDate.of(1912, 7, 29), ""),
+            new EraDefinition("日本", "大正天皇", "大正", List.of(),
+                    LocalDate.of(1912, 7, 30), LocalDate.of(1926, 12, 24), "")));
+    private static final EraRegistry KOREAN = EraRegistry.of(List.of(
+            new EraDefinition("大韓帝國", "高宗", "光武", List.of(),
+                    LocalDate.of(1897, 8, 17), LocalDate.of(1907, 8, 12), "")));
+
+    private final MultiCalendarRegistry registry = MultiCalendarRegistry.builder()
+            .add("chinese", EraRegistry.defaultRegistry())
+            .add("japanese", JAPANESE)
+            .add("korean", KOREAN)
+            .build();
+
+    @Test
+    void parsesAcrossSystemsWithSystemAttached() {
+        assertEquals(List.of("chinese", "japanese", "korean"), registry.systems());
+
+        MultiCalendarRegistry.SystemEraDate meiji = registry.parse("明治五年三月");
+        assertEquals("japanese", meiji.system());
+        assertEquals(5, meiji.date().year());
+        assertEquals(LocalDate.of(1872, 3, 23), registry.toGregorianDate(meiji));
+
+        assertEquals("korean", registry.parse("光武三年").system());
+        MultiCalendarRegistry.SystemEraDate yongle = registry.parse("明永樂五年二月初十日");
+        assertEquals("chinese", yongle.system());
+        assertEquals("明", yongle.date().definition().dynasty());
+
+        MultiCalendarRegistry.SystemParseResult taisho = registry.tryParse("大正二年");
+        assertTrue(taisho.isSuccess());
+        assertEquals("japanese", taisho.system());
+        assertEquals("japanese", taisho.value().orElseThrow().system());
+        assertEquals(2, taisho.orElseThrow().date().year());
+        MultiCalendarRegistry.SystemParseResult heisei = registry.tryParse("平成三年");
+        assertEquals(EraParseResult.Error.ERA_NOT_FOUND, heisei.result().error().orElseThrow());
+        assertNull(heisei.system());
+        assertTrue(heisei.value().isEmpty());
+        assertThrows(IllegalArgumentException.class, heisei::orElseThrow);
+        assertThrows(IllegalArgumentException.class, () -> registry.system("vietnamese"));
+    }
+
+    @Test
+    void reverseConversionReturnsEveryRegime() {
+        List<MultiCalendarRegistry.SystemEraDate> eras = registry.toEras(LocalDate.of(1900, 1, 1));
+        assertEquals(List.of("japanese", "chinese", "korean"),
+                eras.stream().map(MultiCalendarRegistry.SystemEraDate::system).toList());
+        assertEquals("光緒", eras.get(1).date().definition().eraName());
+        assertEquals(33, registry.toEra(LocalDate.of(1900, 1, 1), "japanese").orElseThrow().date().year());
+        assertTrue(registry.toEra(LocalDate.of(1920, 1, 1), "korean").isEmpty());
+        assertEquals(registry.combined().definitions().size(),
+                EraRegistry.defaultRegistry().definitions().size() + 3);
+    }
+
+    @Test
+    void rejectsBadSystems() {
+        assertThrows(IllegalArgumentException.class, () -> MultiCalendarRegistry.builder().build());
+        assertThrows(IllegalArgumentException.class,
+                () -> MultiCalendarRegistry.builder().add("a", JAPANESE).add("a", KOREAN));
+    }
+}